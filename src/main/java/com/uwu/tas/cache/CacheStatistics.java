@@ -0,0 +1,27 @@
+package com.uwu.tas.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class CacheStatistics {
+
+    private CacheStatistics() {
+    }
+
+    static Map<String, Object> of(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loadSuccessCount", stats.loadSuccessCount());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        result.put("averageLoadPenaltyMillis", stats.averageLoadPenalty() / 1000000);
+        result.put("evictionCount", stats.evictionCount());
+        result.put("entries", cache.estimatedSize());
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package com.uwu.tas.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uwu.tas.dto.location.LocationDto;
+import com.uwu.tas.util.AfterCommit;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongFunction;
+
+/**
+ * Fully assembled location details keyed by location id. Every snapshot records the version
+ * of its location (and the generation of the whole cache) it was assembled at; writers bump
+ * those after commit, so a snapshot assembled from data read before a concurrent commit is
+ * never served once that commit is visible. Versions are kept in a fixed number of stripes
+ * shared by the locations hashing to them, so their memory stays bounded; a write only costs
+ * the other locations of its stripe a reload. Snapshots are shared between callers and must
+ * not be modified.
+ */
+@Component
+public class LocationDetailCache {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final Cache<Long, Snapshot> cache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLong generation = new AtomicLong();
+
+    public LocationDetailCache(@Value("${tas.cache.location-detail.max-size:10000}") long maxSize,
+                               @Value("${tas.cache.location-detail.expire-after-write:30m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public LocationDto get(long id, LongFunction<LocationDto> loader) {
+        long generation = this.generation.get();
+        long version = versions.get(stripe(id));
+        Snapshot snapshot = cache.getIfPresent(id);
+        if (snapshot != null && snapshot.generation == generation && snapshot.version == version) {
+            return snapshot.location;
+        }
+        LocationDto location = loader.apply(id);
+        cache.put(id, new Snapshot(generation, version, location));
+        return location;
+    }
+
+    /**
+     * Drops the snapshot of one location once the current transaction commits.
+     */
+    public void evict(long id) {
+        AfterCommit.run(() -> {
+            versions.incrementAndGet(stripe(id));
+            cache.invalidate(id);
+        });
+    }
+
+    /**
+     * Drops every snapshot once the current transaction commits, for changes that show up in
+     * all locations such as activities.
+     */
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            cache.invalidateAll();
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        return CacheStatistics.of(cache);
+    }
+
+    private static int stripe(long id) {
+        return Long.hashCode(id) & (VERSION_STRIPES - 1);
+    }
+
+    @AllArgsConstructor
+    private static final class Snapshot {
+
+        private final long generation;
+        private final long version;
+        private final LocationDto location;
+    }
+}
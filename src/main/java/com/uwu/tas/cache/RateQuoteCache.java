@@ -0,0 +1,52 @@
+package com.uwu.tas.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uwu.tas.pricing.RateCalendar;
+import com.uwu.tas.pricing.RateQuote;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Stay quotes keyed by package, calendar version and dates. A rate change replaces the
+ * package's calendar with a new version, so older quotes stop matching and age out.
+ */
+@Component
+public class RateQuoteCache {
+
+    private final Cache<Key, RateQuote> cache;
+
+    public RateQuoteCache(@Value("${tas.cache.rate-quote.max-size:200000}") long maxSize,
+                          @Value("${tas.cache.rate-quote.expire-after-write:30m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public RateQuote get(RateCalendar calendar, LocalDate checkIn, LocalDate checkOut) {
+        Key key = new Key(calendar.getRoomPackageId(), calendar.getVersion(), checkIn, checkOut);
+        return cache.get(key, k -> calendar.quote(checkIn, checkOut));
+    }
+
+    public Map<String, Object> getStats() {
+        return CacheStatistics.of(cache);
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class Key {
+
+        private final long roomPackageId;
+        private final long version;
+        private final LocalDate checkIn;
+        private final LocalDate checkOut;
+    }
+}
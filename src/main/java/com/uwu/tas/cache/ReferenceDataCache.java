@@ -0,0 +1,138 @@
+package com.uwu.tas.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.uwu.tas.entity.*;
+import com.uwu.tas.repository.*;
+import com.uwu.tas.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-mostly reference tables kept in memory. Entries are refreshed in the background once
+ * they are {@code refresh-after-write} old (callers keep getting the previous list until the
+ * reload completes) and dropped by the services after a committed write. Cached entities are
+ * detached, so only their own columns may be read.
+ */
+@Component
+public class ReferenceDataCache {
+
+    public enum ReferenceData {
+        PROVINCES, ACTIVITIES, VEHICLE_TYPES, ACCOMMODATION_TYPES, VIEWS, FACILITIES, BATHROOM_FACILITIES
+    }
+
+    private final ProvinceRepository provinceRepository;
+    private final ActivityRepository activityRepository;
+    private final VehicleTypeRepository vehicleTypeRepository;
+    private final AccommodationTypeRepository accommodationTypeRepository;
+    private final ViewRepository viewRepository;
+    private final FacilityRepository facilityRepository;
+    private final BathroomFacilityRepository bathroomFacilityRepository;
+
+    private final LoadingCache<ReferenceData, List<?>> cache;
+
+    public ReferenceDataCache(ProvinceRepository provinceRepository,
+                              ActivityRepository activityRepository,
+                              VehicleTypeRepository vehicleTypeRepository,
+                              AccommodationTypeRepository accommodationTypeRepository,
+                              ViewRepository viewRepository,
+                              FacilityRepository facilityRepository,
+                              BathroomFacilityRepository bathroomFacilityRepository,
+                              @Value("${tas.cache.reference.max-rows:20000}") long maxRows,
+                              @Value("${tas.cache.reference.refresh-after-write:5m}") Duration refreshAfterWrite,
+                              @Value("${tas.cache.reference.expire-after-write:1h}") Duration expireAfterWrite) {
+        this.provinceRepository = provinceRepository;
+        this.activityRepository = activityRepository;
+        this.vehicleTypeRepository = vehicleTypeRepository;
+        this.accommodationTypeRepository = accommodationTypeRepository;
+        this.viewRepository = viewRepository;
+        this.facilityRepository = facilityRepository;
+        this.bathroomFacilityRepository = bathroomFacilityRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .<ReferenceData, List<?>>weigher((key, rows) -> Math.max(1, rows.size()))
+                .refreshAfterWrite(refreshAfterWrite)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(this::load);
+    }
+
+    public List<Province> getProvinces() {
+        return get(ReferenceData.PROVINCES);
+    }
+
+    public List<Activity> getActivities() {
+        return get(ReferenceData.ACTIVITIES);
+    }
+
+    public List<VehicleType> getVehicleTypes() {
+        return get(ReferenceData.VEHICLE_TYPES);
+    }
+
+    public List<AccommodationType> getAccommodationTypes() {
+        return get(ReferenceData.ACCOMMODATION_TYPES);
+    }
+
+    public List<View> getViews() {
+        return get(ReferenceData.VIEWS);
+    }
+
+    public List<Facility> getFacilities() {
+        return get(ReferenceData.FACILITIES);
+    }
+
+    public List<BathroomFacility> getBathroomFacilities() {
+        return get(ReferenceData.BATHROOM_FACILITIES);
+    }
+
+    /**
+     * Drops the cached table once the current transaction commits, so the next read sees the write.
+     */
+    public void evict(ReferenceData referenceData) {
+        AfterCommit.run(() -> cache.invalidate(referenceData));
+    }
+
+    public Map<String, Object> getStats() {
+        return CacheStatistics.of(cache);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> get(ReferenceData referenceData) {
+        return (List<T>) cache.get(referenceData);
+    }
+
+    private List<?> load(ReferenceData referenceData) {
+        List<?> rows;
+        switch (referenceData) {
+            case PROVINCES:
+                rows = provinceRepository.findAll();
+                break;
+            case ACTIVITIES:
+                rows = activityRepository.findAll();
+                break;
+            case VEHICLE_TYPES:
+                rows = vehicleTypeRepository.findAll();
+                break;
+            case ACCOMMODATION_TYPES:
+                rows = accommodationTypeRepository.findAll();
+                break;
+            case VIEWS:
+                rows = viewRepository.findAll();
+                break;
+            case FACILITIES:
+                rows = facilityRepository.findAll();
+                break;
+            case BATHROOM_FACILITIES:
+                rows = bathroomFacilityRepository.findAll();
+                break;
+            default:
+                throw new IllegalArgumentException(referenceData.name());
+        }
+        return Collections.unmodifiableList(rows);
+    }
+}
@@ -0,0 +1,71 @@
+package com.uwu.tas.cache;
+
+import com.uwu.tas.entity.VendorVerificationCode;
+import com.uwu.tas.repository.VendorVerificationCodeRepository;
+import com.uwu.tas.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Issued verification codes, read from memory. Each code is also written to the database in
+ * the issuing transaction, which is only read back when the code is not in memory (after a
+ * restart). Expired codes are purged from both on a schedule.
+ */
+@Component
+public class VerificationCodeStore {
+
+    private final VendorVerificationCodeRepository vendorVerificationCodeRepository;
+    private final Duration validity;
+    private final ConcurrentMap<String, VendorVerificationCode> codes = new ConcurrentHashMap<>();
+
+    public VerificationCodeStore(VendorVerificationCodeRepository vendorVerificationCodeRepository,
+                                 @Value("${tas.verification.code.validity:24h}") Duration validity) {
+        this.vendorVerificationCodeRepository = vendorVerificationCodeRepository;
+        this.validity = validity;
+    }
+
+    public void save(String email, String code) {
+        vendorVerificationCodeRepository.save(new VendorVerificationCode(email, code, null));
+        VendorVerificationCode issued = new VendorVerificationCode(email, code, LocalDateTime.now());
+        AfterCommit.run(() -> codes.put(email, issued));
+    }
+
+    /**
+     * Returns the last code issued to the email; expired codes are returned until purged.
+     */
+    public Optional<VendorVerificationCode> find(String email) {
+        VendorVerificationCode code = codes.get(email);
+        if (code == null) {
+            code = vendorVerificationCodeRepository.findById(email).orElse(null);
+            if (code == null) return Optional.empty();
+            codes.putIfAbsent(email, code);
+        }
+        return Optional.of(code);
+    }
+
+    @Scheduled(fixedDelayString = "${tas.verification.code.purge-interval:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        codes.values().removeIf(code -> isExpired(code, now));
+        int deleted = vendorVerificationCodeRepository.deleteIssuedBefore(now.minus(validity));
+        System.out.println("INFO: VerificationCodeStore.purgeExpired: Deleted " + deleted + " expired verification codes");
+    }
+
+    /**
+     * Whether the code is older than the configured validity and may no longer be used.
+     */
+    public boolean isExpired(VendorVerificationCode code) {
+        return isExpired(code, LocalDateTime.now());
+    }
+
+    private boolean isExpired(VendorVerificationCode code, LocalDateTime now) {
+        return code.getDateTime() == null || !code.getDateTime().plus(validity).isAfter(now);
+    }
+}
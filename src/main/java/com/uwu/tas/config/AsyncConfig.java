@@ -0,0 +1,49 @@
+package com.uwu.tas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    public static final String IMAGE_TASK_EXECUTOR = "imageTaskExecutor";
+    public static final String MAIL_TASK_EXECUTOR = "mailTaskExecutor";
+
+    /**
+     * Runs image derivative generation off the request thread. Derivatives are optional
+     * (the original is served until they exist), so work is rejected when the queue is full
+     * and {@code ImageDerivativeGenerator} lets a later request try again.
+     */
+    @Bean(name = IMAGE_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor imageTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Sends outbox batches, one SMTP connection per worker. The dispatcher never submits more
+     * batches than there are workers, so the queue only absorbs overlap between polls.
+     */
+    @Bean(name = MAIL_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor mailTaskExecutor(@Value("${tas.mail.outbox.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("mail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
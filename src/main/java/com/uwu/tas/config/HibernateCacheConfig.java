@@ -0,0 +1,53 @@
+package com.uwu.tas.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.uwu.tas.entity.*;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * Caffeine backed regions for Hibernate's second-level and query caches. Every region is
+     * bounded; entity regions expire so rows edited outside the application are picked up.
+     */
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        createRegion(cacheManager, Province.class.getName(), 100, Duration.ofHours(1));
+        createRegion(cacheManager, Activity.class.getName(), 1000, Duration.ofHours(1));
+        createRegion(cacheManager, VehicleType.class.getName(), 100, Duration.ofHours(1));
+        createRegion(cacheManager, AccommodationType.class.getName(), 100, Duration.ofHours(1));
+        createRegion(cacheManager, View.class.getName(), 100, Duration.ofHours(1));
+        createRegion(cacheManager, Facility.class.getName(), 500, Duration.ofHours(1));
+        createRegion(cacheManager, BathroomFacility.class.getName(), 500, Duration.ofHours(1));
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, 1000, Duration.ofMinutes(10));
+        // must outlive every cached query result, or stale results could be served
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 10000, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, String region, long maximumSize, Duration expireAfterWrite) {
+        if (cacheManager.getCache(region) != null) return;
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        if (expireAfterWrite != null) configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
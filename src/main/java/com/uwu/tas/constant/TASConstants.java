@@ -9,4 +9,36 @@ public class TASConstants {
         public static final String LOCATION_IMAGE_BASE_URL = IMAGE_BASE_URL + "/location";
         public static final String LOCATION_ATTRACTION_IMAGE_BASE_URL = IMAGE_BASE_URL + "/location/attraction";
     }
+
+    public static final class Page {
+        public static final int DEFAULT_SIZE = 20;
+        public static final int MAX_SIZE = 100;
+    }
+
+    public static final class Image {
+        public static final String VERSION_PARAM = "v";
+        public static final int VERSION_LENGTH = 16;
+        public static final String WIDTH_PARAM = "w";
+        public static final int[] DERIVATIVE_WIDTHS = {160, 480, 1280};
+        public static final long IMMUTABLE_MAX_AGE_SECONDS = 365L * 24 * 60 * 60;
+    }
+
+    public static final class Nearby {
+        public static final double CELL_DEGREES = 0.1;
+        public static final double DEFAULT_RADIUS_KM = 10;
+        public static final double MAX_RADIUS_KM = 100;
+        public static final long MAX_CLUSTER_CELLS = 4096;
+    }
+
+    public static final class Import {
+        public static final int CHUNK_SIZE = 500;
+        public static final int MAX_JOBS = 20;
+    }
+
+    public static final class Reservation {
+        public static final int MAX_NIGHTS = 30;
+        public static final int MAX_ROOMS = 10;
+        public static final int INVENTORY_CREATE_ATTEMPTS = 5;
+        public static final int MAX_RENTAL_DAYS = 30;
+    }
 }
@@ -8,8 +8,10 @@ import com.uwu.tas.repository.ActivityRepository;
 import com.uwu.tas.service.ActivityService;
 import com.uwu.tas.util.Base64Handler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -34,6 +36,17 @@ public class AdminActivityController {
         }
     }
 
+    @PostMapping(value = "", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity saveActivity(@RequestPart(value = "activity") ActivityDto activityDto,
+                                       @RequestPart(value = "image") MultipartFile image) {
+        try {
+            activityService.saveActivity(activityDto, image);
+            return ResponseEntity.ok(new CommonResponse<>(true, "Activity saved successfully!"));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
     @PutMapping(value = "")
     public ResponseEntity updateActivity(@RequestBody ActivityDto activityDto) {
         try {
@@ -44,6 +57,17 @@ public class AdminActivityController {
         }
     }
 
+    @PutMapping(value = "", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity updateActivity(@RequestPart(value = "activity") ActivityDto activityDto,
+                                         @RequestPart(value = "image", required = false) MultipartFile image) {
+        try {
+            activityService.updateActivity(activityDto, image);
+            return ResponseEntity.ok(new CommonResponse<>(true, "Activity updated successfully!"));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
     @PatchMapping(value = "/{id}")
     public ResponseEntity changeActivityStatus(@PathVariable(value = "id") long id, @RequestParam(value = "status") VisibilityStatus status) {
         try {
@@ -55,9 +79,9 @@ public class AdminActivityController {
     }
 
     @GetMapping(value = "")
-    public ResponseEntity getAllActivities() {
+    public ResponseEntity getAllActivities(@RequestParam(value = "imageWidth", required = false) Integer imageWidth) {
         try {
-            List<ActivityDto> allActivities = activityService.getAllActivities();
+            List<ActivityDto> allActivities = activityService.getAllActivities(imageWidth);
             return ResponseEntity.ok(new CommonResponse<>(true, allActivities));
         } catch (CustomServiceException e) {
             return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
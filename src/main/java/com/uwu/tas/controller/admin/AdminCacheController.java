@@ -0,0 +1,40 @@
+package com.uwu.tas.controller.admin;
+
+import com.uwu.tas.cache.LocationDetailCache;
+import com.uwu.tas.cache.RateQuoteCache;
+import com.uwu.tas.cache.ReferenceDataCache;
+import com.uwu.tas.dto.CommonResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/admin/cache")
+@CrossOrigin
+public class AdminCacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final LocationDetailCache locationDetailCache;
+    private final RateQuoteCache rateQuoteCache;
+
+    @GetMapping(value = "/reference-data/stats")
+    public ResponseEntity getReferenceDataStats() {
+        Map<String, Object> stats = referenceDataCache.getStats();
+        return ResponseEntity.ok(new CommonResponse<Map<String, Object>>(true, stats));
+    }
+
+    @GetMapping(value = "/location-detail/stats")
+    public ResponseEntity getLocationDetailStats() {
+        Map<String, Object> stats = locationDetailCache.getStats();
+        return ResponseEntity.ok(new CommonResponse<Map<String, Object>>(true, stats));
+    }
+
+    @GetMapping(value = "/rate-quote/stats")
+    public ResponseEntity getRateQuoteStats() {
+        Map<String, Object> stats = rateQuoteCache.getStats();
+        return ResponseEntity.ok(new CommonResponse<Map<String, Object>>(true, stats));
+    }
+}
@@ -0,0 +1,32 @@
+package com.uwu.tas.controller.admin;
+
+import com.uwu.tas.dto.CommonResponse;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.service.FileService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/admin/image")
+@CrossOrigin
+public class AdminImageController {
+
+    private final FileService fileService;
+
+    /**
+     * Stores an image on its own and returns its key, for use as a picture in bulk imports.
+     */
+    @PostMapping(value = "", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity saveImage(@RequestPart(value = "image") MultipartFile image) {
+        try {
+            String key = fileService.saveImage(image);
+            return ResponseEntity.ok(new CommonResponse<>(true, key));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.uwu.tas.controller.admin;
 
 import com.uwu.tas.dto.CommonResponse;
+import com.uwu.tas.dto.CursorPageDto;
 import com.uwu.tas.dto.location.LocationAttractionDto;
 import com.uwu.tas.dto.location.LocationDto;
+import com.uwu.tas.dto.location.LocationImportReportDto;
 import com.uwu.tas.enums.VisibilityStatus;
 import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.service.LocationImportService;
 import com.uwu.tas.service.LocationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -18,7 +26,11 @@ import java.util.List;
 @CrossOrigin
 public class AdminLocationController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String CSV_VALUE = "text/csv";
+
     private final LocationService locationService;
+    private final LocationImportService locationImportService;
 
     @PostMapping(value = "")
     public ResponseEntity createLocation(@RequestBody LocationDto locationDto) {
@@ -35,6 +47,18 @@ public class AdminLocationController {
         }
     }
 
+    @PostMapping(value = "", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity createLocation(@RequestPart(value = "location") LocationDto locationDto,
+                                         @RequestPart(value = "pictures", required = false) List<MultipartFile> pictures) {
+        try {
+            locationService.createLocation(locationDto, pictures == null ? new ArrayList<>() : pictures);
+            return ResponseEntity.ok(new CommonResponse<>(true, "Location created successfully!"));
+        } catch (CustomServiceException e) {
+            e.printStackTrace();
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
     @PutMapping(value = "")
     public ResponseEntity updateLocation(@RequestBody LocationDto locationDto) {
         try {
@@ -66,9 +90,11 @@ public class AdminLocationController {
     }
 
     @GetMapping(value = "")
-    public ResponseEntity getAllLocations(@RequestParam(value = "text", required = false) String text) {
+    public ResponseEntity getAllLocations(@RequestParam(value = "text", required = false) String text,
+                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                          @RequestParam(value = "size", required = false) Integer size) {
         try {
-            List<LocationDto> locations = locationService.getAllLocations(text);
+            CursorPageDto<LocationDto> locations = locationService.getAllLocations(text, cursor, size);
             return ResponseEntity.ok(new CommonResponse<>(true, locations));
         } catch (CustomServiceException e) {
             return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
@@ -85,6 +111,17 @@ public class AdminLocationController {
         }
     }
 
+    @PostMapping(value = "/attraction", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity createLocationAttraction(@RequestPart(value = "attraction") LocationAttractionDto locationAttractionDto,
+                                                   @RequestPart(value = "pictures", required = false) List<MultipartFile> pictures) {
+        try {
+            locationService.createLocationAttraction(locationAttractionDto, pictures == null ? new ArrayList<>() : pictures);
+            return ResponseEntity.ok(new CommonResponse<>(true, "Location attraction created successfully!"));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
     @PutMapping(value = "/attraction")
     public ResponseEntity updateLocationAttraction(@RequestBody LocationAttractionDto locationAttractionDto) {
         try {
@@ -116,12 +153,37 @@ public class AdminLocationController {
     }
 
     @GetMapping(value = "/attraction")
-    public ResponseEntity getAllLocationAttractions(@RequestParam(value = "text") String text) {
+    public ResponseEntity getAllLocationAttractions(@RequestParam(value = "text") String text,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "size", required = false) Integer size,
+                                                    @RequestParam(value = "imageWidth", required = false) Integer imageWidth) {
         try {
-            List<LocationAttractionDto> attractions = locationService.getAllLocationAttractions(text);
+            CursorPageDto<LocationAttractionDto> attractions = locationService.getAllLocationAttractions(text, cursor, size, imageWidth);
             return ResponseEntity.ok(new CommonResponse<>(true, attractions));
         } catch (CustomServiceException e) {
             return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
         }
     }
+
+    /**
+     * Imports locations and attractions from an NDJSON or CSV request body, streamed without
+     * buffering the whole upload. Progress of running imports is available from GET /import.
+     */
+    @PostMapping(value = "/import", consumes = {NDJSON_VALUE, CSV_VALUE})
+    public ResponseEntity importLocations(HttpServletRequest request) {
+        try {
+            boolean csv = request.getContentType().startsWith(CSV_VALUE);
+            LocationImportReportDto report = locationImportService.importLocations(request.getInputStream(), csv);
+            return ResponseEntity.ok(new CommonResponse<>(true, report));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return ResponseEntity.ok(new CommonResponse<>(false, "Something went wrong!"));
+        }
+    }
+
+    @GetMapping(value = "/import")
+    public ResponseEntity getImports() {
+        List<LocationImportReportDto> imports = locationImportService.getImports();
+        return ResponseEntity.ok(new CommonResponse<>(true, imports));
+    }
 }
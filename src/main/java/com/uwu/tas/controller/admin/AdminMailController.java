@@ -0,0 +1,24 @@
+package com.uwu.tas.controller.admin;
+
+import com.uwu.tas.dto.CommonResponse;
+import com.uwu.tas.mail.EmailOutboxDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/admin/mail")
+@CrossOrigin
+public class AdminMailController {
+
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @GetMapping(value = "/outbox/stats")
+    public ResponseEntity getOutboxStats() {
+        Map<String, Object> stats = emailOutboxDispatcher.getStats();
+        return ResponseEntity.ok(new CommonResponse<Map<String, Object>>(true, stats));
+    }
+}
@@ -0,0 +1,41 @@
+package com.uwu.tas.controller.common;
+
+import com.uwu.tas.dto.CommonResponse;
+import com.uwu.tas.dto.CursorPageDto;
+import com.uwu.tas.dto.accommodation.AccommodationSearchDto;
+import com.uwu.tas.dto.accommodation.AccommodationSearchResultDto;
+import com.uwu.tas.dto.accommodation.RoomFacetCountsDto;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.service.AccommodationSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/accommodation")
+@CrossOrigin
+public class AccommodationSearchController {
+
+    private final AccommodationSearchService accommodationSearchService;
+
+    @GetMapping(value = "/search")
+    public ResponseEntity searchAccommodations(AccommodationSearchDto accommodationSearchDto) {
+        try {
+            CursorPageDto<AccommodationSearchResultDto> results = accommodationSearchService.searchAccommodations(accommodationSearchDto);
+            return ResponseEntity.ok(new CommonResponse<>(true, results));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/facets")
+    public ResponseEntity getRoomFacetCounts(AccommodationSearchDto accommodationSearchDto) {
+        try {
+            RoomFacetCountsDto counts = accommodationSearchService.getRoomFacetCounts(accommodationSearchDto);
+            return ResponseEntity.ok(new CommonResponse<>(true, counts));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.uwu.tas.controller.common;
+
+import com.uwu.tas.dto.CommonResponse;
+import com.uwu.tas.dto.map.MapClusterDto;
+import com.uwu.tas.dto.nearby.NearbyPlaceDto;
+import com.uwu.tas.enums.PlaceType;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.service.NearbyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/nearby")
+@CrossOrigin
+public class NearbyController {
+
+    private final NearbyService nearbyService;
+
+    @GetMapping(value = "")
+    public ResponseEntity getNearbyPlaces(@RequestParam(value = "latitude") double latitude,
+                                          @RequestParam(value = "longitude") double longitude,
+                                          @RequestParam(value = "radius", required = false) Double radius,
+                                          @RequestParam(value = "type", required = false) Set<PlaceType> types,
+                                          @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            List<NearbyPlaceDto> places = nearbyService.getNearbyPlaces(latitude, longitude, radius, types, size);
+            return ResponseEntity.ok(new CommonResponse<>(true, places));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/clusters")
+    public ResponseEntity getClusters(@RequestParam(value = "minLatitude") double minLatitude,
+                                      @RequestParam(value = "minLongitude") double minLongitude,
+                                      @RequestParam(value = "maxLatitude") double maxLatitude,
+                                      @RequestParam(value = "maxLongitude") double maxLongitude,
+                                      @RequestParam(value = "zoom") int zoom,
+                                      @RequestParam(value = "type", required = false) Set<PlaceType> types) {
+        try {
+            List<MapClusterDto> clusters = nearbyService.getClusters(minLatitude, minLongitude, maxLatitude, maxLongitude, zoom, types);
+            return ResponseEntity.ok(new CommonResponse<>(true, clusters));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+}
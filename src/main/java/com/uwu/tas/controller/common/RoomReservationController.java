@@ -0,0 +1,53 @@
+package com.uwu.tas.controller.common;
+
+import com.uwu.tas.dto.CommonResponse;
+import com.uwu.tas.dto.reservation.RoomReservationDto;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.service.RoomReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/room")
+@CrossOrigin
+public class RoomReservationController {
+
+    private final RoomReservationService roomReservationService;
+
+    @GetMapping(value = "/{id}/availability")
+    public ResponseEntity getRoomAvailability(@PathVariable(value = "id") long id,
+                                              @RequestParam(value = "checkIn") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+                                              @RequestParam(value = "checkOut") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        try {
+            boolean available = roomReservationService.isRoomAvailable(id, checkIn, checkOut);
+            return ResponseEntity.ok(new CommonResponse<>(true, available));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/reservation")
+    public ResponseEntity reserveRoom(@RequestBody RoomReservationDto roomReservationDto) {
+        try {
+            RoomReservationDto reservation = roomReservationService.reserveRoom(roomReservationDto);
+            return ResponseEntity.ok(new CommonResponse<>(true, reservation));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
+    @DeleteMapping(value = "/reservation/{id}")
+    public ResponseEntity cancelRoomReservation(@PathVariable(value = "id") long id) {
+        try {
+            roomReservationService.cancelRoomReservation(id);
+            return ResponseEntity.ok(new CommonResponse<>(true, "Reservation cancelled successfully!"));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.uwu.tas.controller.common;
+
+import com.uwu.tas.dto.CommonResponse;
+import com.uwu.tas.dto.reservation.AvailableVehicleDto;
+import com.uwu.tas.dto.reservation.VehicleReservationDto;
+import com.uwu.tas.dto.reservation.VehicleSearchDto;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.service.VehicleReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/vehicle")
+@CrossOrigin
+public class VehicleReservationController {
+
+    private final VehicleReservationService vehicleReservationService;
+
+    @GetMapping(value = "/available")
+    public ResponseEntity getAvailableVehicles(VehicleSearchDto vehicleSearchDto) {
+        try {
+            List<AvailableVehicleDto> vehicles = vehicleReservationService.getAvailableVehicles(vehicleSearchDto);
+            return ResponseEntity.ok(new CommonResponse<List<AvailableVehicleDto>>(true, vehicles));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/{id}/availability")
+    public ResponseEntity getVehicleAvailability(@PathVariable(value = "id") long id,
+                                                 @RequestParam(value = "startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                 @RequestParam(value = "endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            boolean available = vehicleReservationService.isVehicleAvailable(id, startDate, endDate);
+            return ResponseEntity.ok(new CommonResponse<>(true, available));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/reservation")
+    public ResponseEntity reserveVehicle(@RequestBody VehicleReservationDto vehicleReservationDto) {
+        try {
+            VehicleReservationDto reservation = vehicleReservationService.reserveVehicle(vehicleReservationDto);
+            return ResponseEntity.ok(new CommonResponse<>(true, reservation));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+
+    @DeleteMapping(value = "/reservation/{id}")
+    public ResponseEntity cancelVehicleReservation(@PathVariable(value = "id") long id) {
+        try {
+            vehicleReservationService.cancelVehicleReservation(id);
+            return ResponseEntity.ok(new CommonResponse<>(true, "Reservation cancelled successfully!"));
+        } catch (CustomServiceException e) {
+            return ResponseEntity.ok(new CommonResponse<>(false, e.getMessage()));
+        }
+    }
+}
@@ -1,33 +1,168 @@
 package com.uwu.tas.controller.file;
 
 import com.uwu.tas.service.FileService;
+import com.uwu.tas.service.impl.ImageDerivativeGenerator;
+import com.uwu.tas.util.ImageUrlBuilder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static com.uwu.tas.constant.TASConstants.Image.IMMUTABLE_MAX_AGE_SECONDS;
+import static com.uwu.tas.constant.TASConstants.Image.VERSION_PARAM;
+import static com.uwu.tas.constant.TASConstants.Image.WIDTH_PARAM;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(value = "/file")
 public class ImageController {
 
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final FileService fileService;
 
-    @GetMapping(value = "/image/activity/{id}", produces = MediaType.IMAGE_JPEG_VALUE)
-    public Resource getActivityImage(@PathVariable(value = "id") long id) {
-        return fileService.getActivityImage(id);
+    @GetMapping(value = "/image/activity/{id}")
+    public void getActivityImage(@PathVariable(value = "id") long id,
+                                 @RequestParam(value = VERSION_PARAM, required = false) String version,
+                                 @RequestParam(value = WIDTH_PARAM, required = false) Integer width,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        writeImage(fileService.getActivityImageKey(id), width, version, request, response);
+    }
+
+    @GetMapping(value = "/image/location/{id}")
+    public void getLocationImage(@PathVariable(value = "id") long id,
+                                 @RequestParam(value = VERSION_PARAM, required = false) String version,
+                                 @RequestParam(value = WIDTH_PARAM, required = false) Integer width,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        writeImage(fileService.getLocationImageKey(id), width, version, request, response);
+    }
+
+    @GetMapping(value = "/image/location/attraction/{id}")
+    public void getLocationAttractionImage(@PathVariable(value = "id") long id,
+                                           @RequestParam(value = VERSION_PARAM, required = false) String version,
+                                           @RequestParam(value = WIDTH_PARAM, required = false) Integer width,
+                                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        writeImage(fileService.getLocationAttractionImageKey(id), width, version, request, response);
+    }
+
+    /**
+     * The image key is the content hash, so it doubles as a strong ETag and conditional
+     * requests are answered without touching the image bytes. URLs carrying the matching
+     * version are cached as immutable; unversioned URLs must revalidate. A width selects
+     * the closest derivative, falling back to the original until it has been generated.
+     * Missing images are never cached, so a later upload or migration is picked up.
+     */
+    private void writeImage(String originalKey, Integer width, String version, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (originalKey == null) {
+            notFound(response);
+            return;
+        }
+        String key = fileService.resolveImageKey(originalKey, width);
+        // widths above the largest derivative are always answered with the original
+        boolean derivativeReady = ImageDerivativeGenerator.selectWidth(width) < 0 || !key.equals(originalKey);
+        boolean versioned = ImageUrlBuilder.version(originalKey).equals(version) && derivativeReady;
+        String cacheControl = versioned
+                ? "public, max-age=" + IMMUTABLE_MAX_AGE_SECONDS + ", immutable"
+                : "no-cache";
+        String etag = "\"" + key + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            // the client already holds the content of this key
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            return;
+        }
+
+        Resource image = fileService.getImage(key);
+        if (image == null) {
+            notFound(response);
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        long length = image.contentLength();
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (image.isFile()) response.setDateHeader(HttpHeaders.LAST_MODIFIED, image.lastModified());
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            boolean partial = false;
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                // multiple ranges are answered with the whole image
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    partial = true;
+                }
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            if (start >= length || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (partial) {
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        response.setContentLengthLong(end - start + 1);
+        writeBody(image, start, end, request, response);
     }
 
-    @GetMapping(value = "/image/location/{id}", produces = MediaType.IMAGE_JPEG_VALUE)
-    public Resource getLocationImage(@PathVariable(value = "id") long id) {
-        return fileService.getLocationImage(id);
+    /**
+     * Files on disk are handed to Tomcat's sendfile when the connector supports it,
+     * otherwise copied with {@link FileChannel#transferTo}, so image bytes never pass
+     * through the heap. Images still held in the database are streamed.
+     */
+    private void writeBody(Resource image, long start, long end, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!image.isFile()) {
+            try (InputStream in = image.getInputStream()) {
+                StreamUtils.copyRange(in, response.getOutputStream(), start, end);
+            }
+            return;
+        }
+
+        Path path = image.getFile().toPath();
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
     }
 
-    @GetMapping(value = "/image/location/attraction/{id}", produces = MediaType.IMAGE_JPEG_VALUE)
-    public Resource getLocationAttractionImage(@PathVariable(value = "id") long id) {
-        return fileService.getLocationAttractionImage(id);
+    private static void notFound(HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.setStatus(HttpStatus.NOT_FOUND.value());
     }
 }
@@ -0,0 +1,21 @@
+package com.uwu.tas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CursorPageDto<T> {
+
+    private List<T> items;
+    /**
+     * Opaque token for the next page, null on the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,42 @@
+package com.uwu.tas.dto.accommodation;
+
+import com.uwu.tas.enums.AccommodationSort;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Accommodation search parameters. Dates, prices, flags and facet ids are optional; prices
+ * are per night after discount. Facet ids of one kind are alternatives.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class AccommodationSearchDto {
+
+    private long locationId;
+    private Double radius;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate checkIn;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate checkOut;
+    private Integer people;
+    private Double minPrice;
+    private Double maxPrice;
+    private Boolean parking;
+    private Boolean smoking;
+    private Boolean pets;
+    private Set<Long> facilities;
+    private Set<Long> bathroomFacilities;
+    private Set<Long> views;
+    private Set<Long> accommodationTypes;
+    private AccommodationSort sort;
+    private String cursor;
+    private Integer size;
+}
@@ -0,0 +1,29 @@
+package com.uwu.tas.dto.accommodation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class AccommodationSearchResultDto {
+
+    private long accommodationId;
+    private String name;
+    private double latitude;
+    private double longitude;
+    private double rating;
+    private double distance;
+    private long roomId;
+    private String roomName;
+    private long roomPackageId;
+    private int noOfPeople;
+    private double pricePerNight;
+    /**
+     * Price of the whole stay, or of one night when no dates were given.
+     */
+    private double totalPrice;
+}
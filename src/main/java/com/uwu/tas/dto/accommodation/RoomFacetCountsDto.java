@@ -0,0 +1,22 @@
+package com.uwu.tas.dto.accommodation;
+
+import com.uwu.tas.enums.RoomFacet;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RoomFacetCountsDto {
+
+    private int matchingRooms;
+    /**
+     * Rooms each facet value would match, by facet and value id.
+     */
+    private Map<RoomFacet, Map<Long, Integer>> counts;
+}
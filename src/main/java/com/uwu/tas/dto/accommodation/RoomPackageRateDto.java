@@ -0,0 +1,25 @@
+package com.uwu.tas.dto.accommodation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Rate of a room package from {@code startDate} up to, not including, {@code endDate}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RoomPackageRateDto {
+
+    private long id;
+    private long roomPackageId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private double price;
+    private double discount;
+}
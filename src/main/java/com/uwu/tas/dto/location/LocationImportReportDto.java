@@ -0,0 +1,35 @@
+package com.uwu.tas.dto.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class LocationImportReportDto {
+
+    private String id;
+    private String status;
+    private LocalDateTime startedDateTime;
+    private LocalDateTime finishedDateTime;
+    private long rowsRead;
+    private long locationsCreated;
+    private long attractionsCreated;
+    private long rowErrorCount;
+    private List<RowError> errors;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
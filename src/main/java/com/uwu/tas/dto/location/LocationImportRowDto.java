@@ -0,0 +1,36 @@
+package com.uwu.tas.dto.location;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One row of a bulk import. {@code type} is {@code location} or {@code attraction};
+ * attractions name their location, locations their province. Activities are names or ids,
+ * pictures are keys of images already uploaded through {@code POST /admin/image}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LocationImportRowDto {
+
+    private String type;
+    private String name;
+    private String location;
+    private String province;
+    private Double longitude;
+    private Double latitude;
+    private String description;
+    private Integer minimumSpendingDays;
+    private String telephone;
+    private String email;
+    private String website;
+    private List<String> activities;
+    private List<String> pictures;
+}
@@ -0,0 +1,20 @@
+package com.uwu.tas.dto.map;
+
+import com.uwu.tas.enums.PlaceType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class MapClusterDto {
+
+    private PlaceType type;
+    private int count;
+    private double latitude;
+    private double longitude;
+    private long representativeId;
+}
@@ -0,0 +1,21 @@
+package com.uwu.tas.dto.nearby;
+
+import com.uwu.tas.enums.PlaceType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class NearbyPlaceDto {
+
+    private PlaceType type;
+    private long id;
+    private String name;
+    private double latitude;
+    private double longitude;
+    private double distance;
+}
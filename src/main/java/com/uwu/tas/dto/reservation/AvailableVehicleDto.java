@@ -0,0 +1,23 @@
+package com.uwu.tas.dto.reservation;
+
+import com.uwu.tas.enums.GearType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class AvailableVehicleDto {
+
+    private long vehicleId;
+    private String name;
+    private int noOfSeats;
+    private GearType gearType;
+    private boolean airConditioning;
+    private boolean childSeats;
+    private Long vehicleTypeId;
+    private Double rentalPricePerKm;
+}
@@ -0,0 +1,26 @@
+package com.uwu.tas.dto.reservation;
+
+import com.uwu.tas.enums.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RoomReservationDto {
+
+    private long id;
+    private long publicUserId;
+    private long roomId;
+    private long roomPackageId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private int roomCount;
+    private double totalPrice;
+    private ReservationStatus status;
+}
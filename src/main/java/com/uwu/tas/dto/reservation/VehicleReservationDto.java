@@ -0,0 +1,27 @@
+package com.uwu.tas.dto.reservation;
+
+import com.uwu.tas.enums.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A rental request: the best free vehicle matching {@code vehicle} is allocated, and
+ * {@code vehicleId} is set to it.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class VehicleReservationDto {
+
+    private long id;
+    private long publicUserId;
+    private VehicleSearchDto vehicle;
+    private String pickupLocation;
+    private String dropOffLocation;
+    private long vehicleId;
+    private double pricePerKm;
+    private ReservationStatus status;
+}
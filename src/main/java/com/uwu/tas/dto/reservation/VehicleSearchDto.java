@@ -0,0 +1,32 @@
+package com.uwu.tas.dto.reservation;
+
+import com.uwu.tas.enums.GearType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Vehicles at a location, free from {@code startDate} up to, not including, {@code endDate}.
+ * Criteria left null match any vehicle.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class VehicleSearchDto {
+
+    private long locationId;
+    private Integer minSeats;
+    private Long vehicleTypeId;
+    private GearType gearType;
+    private Boolean airConditioning;
+    private Boolean childSeats;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+}
@@ -1,6 +1,7 @@
 package com.uwu.tas.entity;
 
 
+import com.uwu.tas.search.RoomFacetListener;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,6 +16,7 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@EntityListeners(RoomFacetListener.class)
 public class Accommodation {
 
     @Id
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -13,6 +15,8 @@ import javax.persistence.*;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Activity {
 
     @Id
@@ -21,8 +25,8 @@ public class Activity {
 
     private String activityName;
 
-    @Lob
-    private byte[] image;
+    @Column(length = 64)
+    private String imageKey;
 
     @Enumerated(EnumType.STRING)
     private VisibilityStatus visibilityStatus;
@@ -15,7 +15,9 @@ import javax.persistence.*;
 public class ActivityLocationDetail {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "activity_location_detail_id")
+    @TableGenerator(name = "activity_location_detail_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "activity_location_detail", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
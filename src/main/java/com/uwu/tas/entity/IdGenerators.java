@@ -0,0 +1,17 @@
+package com.uwu.tas.entity;
+
+/**
+ * Shared settings of the table backed id generators used by high volume child tables. Their
+ * ids are allocated in blocks of {@link #ALLOCATION_SIZE} from the generator table instead
+ * of by the database, so inserts of many rows can be sent as one JDBC batch.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generator";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
@@ -0,0 +1,34 @@
+package com.uwu.tas.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+public class ImageContent {
+
+    /**
+     * SHA-256 of the image bytes, so identical uploads share one row. Derivatives use
+     * the original's key suffixed with their width.
+     */
+    @Id
+    @Column(length = 72)
+    private String id;
+
+    @Lob
+    private byte[] data;
+
+    private long size;
+
+    @CreationTimestamp
+    private LocalDateTime createdDateTime;
+}
@@ -17,6 +17,7 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@Table(indexes = @Index(name = "idx_location_updated_date_time_id", columnList = "updatedDateTime, id"))
 public class Location {
 
     @Id
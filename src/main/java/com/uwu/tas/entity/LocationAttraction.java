@@ -14,6 +14,7 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@Table(indexes = @Index(name = "idx_location_attraction_name_id", columnList = "name, id"))
 public class LocationAttraction {
 
     @Id
@@ -15,11 +15,13 @@ import javax.persistence.*;
 public class LocationPicture {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "location_picture_id")
+    @TableGenerator(name = "location_picture_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "location_picture", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private long id;
 
-    @Lob
-    private byte[] image;
+    @Column(length = 64)
+    private String imageKey;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
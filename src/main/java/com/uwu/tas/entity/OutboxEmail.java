@@ -0,0 +1,56 @@
+package com.uwu.tas.entity;
+
+import com.uwu.tas.enums.OutboxStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_email_status_next_attempt", columnList = "status, nextAttemptDateTime"))
+public class OutboxEmail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    /**
+     * Comma separated addresses.
+     */
+    @Column(length = 1000)
+    private String recipients;
+
+    private String subject;
+
+    @Lob
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptDateTime;
+
+    /**
+     * Set by the dispatcher that is currently sending the email.
+     */
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdDateTime;
+
+    private LocalDateTime sentDateTime;
+}
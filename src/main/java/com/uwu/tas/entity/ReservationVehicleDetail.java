@@ -1,17 +1,22 @@
 package com.uwu.tas.entity;
 
+import com.uwu.tas.enums.ReservationStatus;
+import com.uwu.tas.inventory.VehicleAvailabilityListener;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.persistence.*;
+import java.time.LocalDate;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity
+@EntityListeners(VehicleAvailabilityListener.class)
+@Table(indexes = @Index(name = "idx_reservation_vehicle_detail_vehicle_dates", columnList = "vehicle_id, startDate, endDate"))
 public class ReservationVehicleDetail {
 
     @Id
@@ -20,6 +25,15 @@ public class ReservationVehicleDetail {
 
     private double price;
 
+    /**
+     * Copied from the reservation, so the bookings of a vehicle are read from this table alone.
+     */
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
     private Vehicle vehicle;
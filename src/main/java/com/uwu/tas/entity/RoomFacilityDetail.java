@@ -1,5 +1,6 @@
 package com.uwu.tas.entity;
 
+import com.uwu.tas.search.RoomFacetListener;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,6 +13,7 @@ import javax.persistence.*;
 @Getter
 @Setter
 @Entity
+@EntityListeners(RoomFacetListener.class)
 public class RoomFacilityDetail {
 
     @Id
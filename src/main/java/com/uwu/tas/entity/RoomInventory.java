@@ -0,0 +1,41 @@
+package com.uwu.tas.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Rooms of one type booked on one night. Rows are created on first use with the room's
+ * {@code availableCount} as total, and {@code booked} only ever changes through the
+ * conditional updates in {@link com.uwu.tas.repository.RoomInventoryRepository}.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_room_inventory_room_night", columnNames = {"room_id", "night"}))
+public class RoomInventory {
+
+    /**
+     * Database generated: the table generator reserves ids on a second connection, which
+     * concurrent bookings creating their first nights would all wait on at once.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false)
+    private Room room;
+
+    @Column(nullable = false)
+    private LocalDate night;
+
+    private int total;
+    private int booked;
+}
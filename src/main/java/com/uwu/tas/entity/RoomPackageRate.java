@@ -0,0 +1,40 @@
+package com.uwu.tas.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Nightly price of a room package for the nights from {@code startDate} up to, not
+ * including, {@code endDate}. Where rates overlap the one added last applies; nights no rate
+ * covers are charged the package's own price and discount.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(indexes = @Index(name = "idx_room_package_rate_package", columnList = "room_package_id"))
+public class RoomPackageRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    private double price;
+    private double discount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false)
+    private RoomPackage roomPackage;
+}
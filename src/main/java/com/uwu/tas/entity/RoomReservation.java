@@ -1,11 +1,13 @@
 package com.uwu.tas.entity;
 
+import com.uwu.tas.enums.ReservationStatus;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.persistence.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -23,6 +25,17 @@ public class RoomReservation {
     private LocalDateTime dateTime;
     private double totalPrice;
 
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private int roomCount;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn
+    private Room room;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
     private PublicUser publicUser;
@@ -1,6 +1,7 @@
 package com.uwu.tas.entity;
 
 import com.uwu.tas.enums.GearType;
+import com.uwu.tas.inventory.VehicleAvailabilityListener;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,6 +15,7 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@EntityListeners(VehicleAvailabilityListener.class)
 public class Vehicle {
 
     @Id
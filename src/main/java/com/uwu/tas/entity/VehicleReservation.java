@@ -1,11 +1,13 @@
 package com.uwu.tas.entity;
 
+import com.uwu.tas.enums.ReservationStatus;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.persistence.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -25,6 +27,15 @@ public class VehicleReservation {
     private String pickupLocation;
     private String dropOffLocation;
 
+    /**
+     * Rental from the pickup date up to, not including, the return date.
+     */
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
     private PublicUser publicUser;
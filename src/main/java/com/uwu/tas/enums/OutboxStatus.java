@@ -0,0 +1,5 @@
+package com.uwu.tas.enums;
+
+public enum OutboxStatus {
+    PENDING, SENT, DEAD
+}
@@ -0,0 +1,5 @@
+package com.uwu.tas.enums;
+
+public enum PlaceType {
+    LOCATION, LOCATION_ATTRACTION, ACCOMMODATION
+}
@@ -0,0 +1,5 @@
+package com.uwu.tas.enums;
+
+public enum ReservationStatus {
+    CONFIRMED, CANCELLED
+}
@@ -0,0 +1,9 @@
+package com.uwu.tas.enums;
+
+/**
+ * Facets a room can be filtered by. Facility, view and type facets take the id of the
+ * referenced row as value; the flag facets take 1 for yes and 0 for no.
+ */
+public enum RoomFacet {
+    FACILITY, BATHROOM_FACILITY, VIEW, ACCOMMODATION_TYPE, PARKING, SMOKING, PETS
+}
@@ -0,0 +1,152 @@
+package com.uwu.tas.importer;
+
+import com.uwu.tas.dto.location.LocationImportRowDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * RFC 4180 style CSV with a header row naming the columns (any order, case insensitive,
+ * unknown columns ignored). Quoted fields may contain commas, doubled quotes and line breaks.
+ * List columns ({@code activities}, {@code pictures}) separate their values with {@code |}.
+ */
+public class CsvImportRowReader implements ImportRowReader {
+
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("\\|");
+
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private List<String> header;
+    private long line = 1;
+    private long rowLine;
+
+    public CsvImportRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public LocationImportRowDto next() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) return null;
+            header = new ArrayList<>();
+            for (String name : names) {
+                header.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) return null;
+        } while (values.size() == 1 && values.get(0).trim().isEmpty());
+
+        if (values.size() > header.size()) {
+            throw new ImportRowException("Expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) row.put(header.get(i), value);
+        }
+        LocationImportRowDto dto = new LocationImportRowDto();
+        dto.setType(row.get("type"));
+        dto.setName(row.get("name"));
+        dto.setLocation(row.get("location"));
+        dto.setProvince(row.get("province"));
+        dto.setLongitude(toDouble(row, "longitude"));
+        dto.setLatitude(toDouble(row, "latitude"));
+        dto.setDescription(row.get("description"));
+        dto.setMinimumSpendingDays(toInteger(row, "minimumspendingdays"));
+        dto.setTelephone(row.get("telephone"));
+        dto.setEmail(row.get("email"));
+        dto.setWebsite(row.get("website"));
+        dto.setActivities(toList(row.get("activities")));
+        dto.setPictures(toList(row.get("pictures")));
+        return dto;
+    }
+
+    @Override
+    public long getLine() {
+        return rowLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads the fields of the next record, or returns null at the end of the input.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c < 0) return null;
+        rowLine = line;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) throw new ImportRowException("Unterminated quoted field");
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c < 0) {
+                if (c == '\n') line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private static Double toDouble(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null) return null;
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ImportRowException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Integer toInteger(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null) return null;
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ImportRowException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static List<String> toList(String value) {
+        if (value == null) return null;
+        List<String> values = new ArrayList<>();
+        for (String part : LIST_SEPARATOR.split(value)) {
+            if (!part.trim().isEmpty()) values.add(part.trim());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,61 @@
+package com.uwu.tas.importer;
+
+import com.uwu.tas.dto.location.LocationImportReportDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk import, readable while the import runs. Only the first
+ * {@link #MAX_ERRORS} row errors are kept.
+ */
+public class ImportJob {
+
+    public static final int MAX_ERRORS = 1000;
+
+    private final String id = UUID.randomUUID().toString();
+    private final LocalDateTime startedDateTime = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong locationsCreated = new AtomicLong();
+    private final AtomicLong attractionsCreated = new AtomicLong();
+    private final AtomicLong rowErrorCount = new AtomicLong();
+    private final List<LocationImportReportDto.RowError> errors = new ArrayList<>();
+    private volatile String status = "RUNNING";
+    private volatile LocalDateTime finishedDateTime;
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void locationCreated() {
+        locationsCreated.incrementAndGet();
+    }
+
+    public void attractionCreated() {
+        attractionsCreated.incrementAndGet();
+    }
+
+    public void rowFailed(long line, String message) {
+        rowErrorCount.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) errors.add(new LocationImportReportDto.RowError(line, message));
+        }
+    }
+
+    public void finish(String status) {
+        this.status = status;
+        this.finishedDateTime = LocalDateTime.now();
+    }
+
+    public LocationImportReportDto toDto() {
+        List<LocationImportReportDto.RowError> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = new ArrayList<>(errors);
+        }
+        return new LocationImportReportDto(id, status, startedDateTime, finishedDateTime, rowsRead.get(),
+                locationsCreated.get(), attractionsCreated.get(), rowErrorCount.get(), errorsCopy);
+    }
+}
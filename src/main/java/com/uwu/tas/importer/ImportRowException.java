@@ -0,0 +1,12 @@
+package com.uwu.tas.importer;
+
+public class ImportRowException extends RuntimeException {
+
+    public ImportRowException(String message) {
+        super(message);
+    }
+
+    public ImportRowException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,23 @@
+package com.uwu.tas.importer;
+
+import com.uwu.tas.dto.location.LocationImportRowDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads import rows one at a time from a stream, so memory use does not grow with the input.
+ */
+public interface ImportRowReader extends Closeable {
+
+    /**
+     * Returns the next row, or null at the end of the input. A row that cannot be parsed
+     * throws {@link ImportRowException}; reading may continue with the following row.
+     */
+    LocationImportRowDto next() throws IOException;
+
+    /**
+     * Line of the input on which the last returned (or rejected) row started.
+     */
+    long getLine();
+}
@@ -0,0 +1,52 @@
+package com.uwu.tas.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.uwu.tas.dto.location.LocationImportRowDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One JSON object per line. Blank lines are skipped.
+ */
+public class NdjsonImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long line;
+
+    public NdjsonImportRowReader(InputStream in, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.objectReader = objectMapper.readerFor(LocationImportRowDto.class);
+    }
+
+    @Override
+    public LocationImportRowDto next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) return null;
+            line++;
+        } while (text.trim().isEmpty());
+        try {
+            return objectReader.readValue(text);
+        } catch (JsonProcessingException e) {
+            throw new ImportRowException("Invalid JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public long getLine() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
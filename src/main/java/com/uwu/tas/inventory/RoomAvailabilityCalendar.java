@@ -0,0 +1,87 @@
+package com.uwu.tas.inventory;
+
+import com.uwu.tas.repository.RoomInventoryRepository;
+import com.uwu.tas.repository.projection.RoomNight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sold out nights per room, one bit per night, for answering "is this room free between
+ * these dates" without a query. Rebuilt from room inventory at startup and refreshed after
+ * each committed booking or cancellation. It is a read-side filter only; bookings are
+ * decided by the conditional updates on room inventory.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityCalendar {
+
+    /**
+     * Bit 0 is this night. Nights before it are never sold out as far as the calendar knows.
+     */
+    private static final long FIRST_NIGHT = LocalDate.of(2022, 1, 1).toEpochDay();
+
+    private final RoomInventoryRepository roomInventoryRepository;
+
+    private final Map<Long, BitSet> soldOut = new ConcurrentHashMap<>();
+    // separate from the bits, so availability checks do not wait on a refresh's query
+    private final Map<Long, Object> refreshLocks = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        soldOut.clear();
+        List<RoomNight> nights = roomInventoryRepository.findSoldOutNights(LocalDate.now());
+        for (RoomNight night : nights) {
+            BitSet bits = soldOut.computeIfAbsent(night.getRoomId(), id -> new BitSet());
+            synchronized (bits) {
+                bits.set(index(night.getNight()));
+            }
+        }
+        System.out.println("INFO: RoomAvailabilityCalendar.rebuild: Loaded " + nights.size() + " sold out nights for "
+                + soldOut.size() + " rooms in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Whether at least one room is free on every night from {@code checkIn} up to, not
+     * including, {@code checkOut}.
+     */
+    public boolean isAvailable(long roomId, LocalDate checkIn, LocalDate checkOut) {
+        BitSet bits = soldOut.get(roomId);
+        if (bits == null) return true;
+        int from = index(checkIn);
+        int to = index(checkOut);
+        synchronized (bits) {
+            int next = bits.nextSetBit(from);
+            return next < 0 || next >= to;
+        }
+    }
+
+    /**
+     * Reloads the nights of one room in the given range from room inventory. Refreshes of a
+     * room read and apply one at a time, so a slower, older read never lands after a newer one.
+     */
+    public void refresh(long roomId, LocalDate checkIn, LocalDate checkOut) {
+        synchronized (refreshLocks.computeIfAbsent(roomId, id -> new Object())) {
+            List<RoomNight> nights = roomInventoryRepository.findSoldOutNights(roomId, checkIn, checkOut);
+            BitSet bits = soldOut.computeIfAbsent(roomId, id -> new BitSet());
+            synchronized (bits) {
+                bits.clear(index(checkIn), index(checkOut));
+                for (RoomNight night : nights) {
+                    bits.set(index(night.getNight()));
+                }
+            }
+        }
+    }
+
+    private static int index(LocalDate night) {
+        return (int) Math.max(0, night.toEpochDay() - FIRST_NIGHT);
+    }
+}
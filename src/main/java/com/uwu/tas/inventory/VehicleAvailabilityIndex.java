@@ -0,0 +1,191 @@
+package com.uwu.tas.inventory;
+
+import com.uwu.tas.enums.GearType;
+import com.uwu.tas.enums.ReservationStatus;
+import com.uwu.tas.repository.ReservationVehicleDetailRepository;
+import com.uwu.tas.repository.VehicleRepository;
+import com.uwu.tas.repository.projection.VehicleBooking;
+import com.uwu.tas.repository.projection.VehicleDocument;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Confirmed bookings of every vehicle as a sorted map of rental periods keyed by pickup
+ * date, plus the vehicles at each location. Bookings of one vehicle never overlap, so
+ * whether it is free for a period is answered by the one booking starting before the period
+ * ends, in O(log n). Loaded at startup and kept current by
+ * {@link VehicleAvailabilityListener}. It only picks candidates; allocations are decided
+ * under a lock on the vehicle row.
+ */
+@Component
+@RequiredArgsConstructor
+public class VehicleAvailabilityIndex {
+
+    private final VehicleRepository vehicleRepository;
+    private final ReservationVehicleDetailRepository reservationVehicleDetailRepository;
+
+    private final Map<Long, Schedule> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> vehiclesByLocation = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        schedules.clear();
+        vehiclesByLocation.clear();
+        for (VehicleDocument vehicle : vehicleRepository.findAllDocuments()) {
+            putVehicle(vehicle);
+        }
+        List<VehicleBooking> bookings = reservationVehicleDetailRepository.findBookings(ReservationStatus.CONFIRMED, LocalDate.now());
+        for (VehicleBooking booking : bookings) {
+            book(booking.getVehicleId(), booking.getDetailId(), booking.getStartDate(), booking.getEndDate());
+        }
+        System.out.println("INFO: VehicleAvailabilityIndex.rebuild: Loaded " + bookings.size() + " bookings of "
+                + schedules.size() + " vehicles in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Reads one vehicle again, keeping its bookings.
+     */
+    public void reloadVehicle(long vehicleId) {
+        Optional<VehicleDocument> vehicle = vehicleRepository.findDocumentById(vehicleId);
+        if (vehicle.isPresent()) {
+            putVehicle(vehicle.get());
+        } else {
+            removeVehicle(vehicleId);
+        }
+    }
+
+    public void removeVehicle(long vehicleId) {
+        Schedule schedule = schedules.remove(vehicleId);
+        if (schedule != null && schedule.vehicle != null) unlink(vehicleId, schedule.vehicle.getLocationId());
+    }
+
+    public void book(long vehicleId, long detailId, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate)) return;
+        schedules.computeIfAbsent(vehicleId, id -> new Schedule()).book(detailId, startDate, endDate);
+    }
+
+    public void release(long vehicleId, long detailId) {
+        Schedule schedule = schedules.get(vehicleId);
+        if (schedule != null) schedule.release(detailId);
+    }
+
+    /**
+     * Whether the vehicle has no booking from {@code startDate} up to, not including,
+     * {@code endDate}.
+     */
+    public boolean isAvailable(long vehicleId, LocalDate startDate, LocalDate endDate) {
+        Schedule schedule = schedules.get(vehicleId);
+        return schedule == null || schedule.isFree(startDate, endDate);
+    }
+
+    /**
+     * Rentable vehicles at the location that match the criteria and are free for the whole
+     * period, best first: fewest seats that still fit the party, then cheapest per km.
+     */
+    public List<VehicleDocument> findAvailable(Criteria criteria, LocalDate startDate, LocalDate endDate) {
+        Set<Long> vehicleIds = vehiclesByLocation.getOrDefault(criteria.locationId, Collections.emptySet());
+        List<VehicleDocument> vehicles = new ArrayList<>();
+        for (Long vehicleId : vehicleIds) {
+            Schedule schedule = schedules.get(vehicleId);
+            if (schedule == null) continue;
+            VehicleDocument vehicle = schedule.vehicle;
+            if (vehicle != null && criteria.matches(vehicle) && schedule.isFree(startDate, endDate)) vehicles.add(vehicle);
+        }
+        return vehicles.stream()
+                .sorted(Comparator.comparingInt(VehicleDocument::getNoOfSeats)
+                        .thenComparing(VehicleDocument::getRentalPricePerKm, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparingLong(VehicleDocument::getVehicleId))
+                .collect(Collectors.toList());
+    }
+
+    private void putVehicle(VehicleDocument vehicle) {
+        Schedule schedule = schedules.computeIfAbsent(vehicle.getVehicleId(), id -> new Schedule());
+        VehicleDocument previous = schedule.vehicle;
+        schedule.vehicle = vehicle;
+        if (previous != null && !Objects.equals(previous.getLocationId(), vehicle.getLocationId())) {
+            unlink(vehicle.getVehicleId(), previous.getLocationId());
+        }
+        if (vehicle.getLocationId() != null) {
+            vehiclesByLocation.computeIfAbsent(vehicle.getLocationId(), id -> ConcurrentHashMap.newKeySet()).add(vehicle.getVehicleId());
+        }
+    }
+
+    private void unlink(long vehicleId, Long locationId) {
+        if (locationId == null) return;
+        Set<Long> vehicleIds = vehiclesByLocation.get(locationId);
+        if (vehicleIds != null) vehicleIds.remove(vehicleId);
+    }
+
+    private static final class Schedule {
+
+        private volatile VehicleDocument vehicle;
+        private final NavigableMap<LocalDate, Booking> bookings = new TreeMap<>();
+        private final Map<Long, LocalDate> startDates = new HashMap<>();
+
+        /**
+         * A booking replaces any other with the same pickup date: callbacks of a cancellation
+         * and a rebooking of that date may run in either order.
+         */
+        private synchronized void book(long detailId, LocalDate startDate, LocalDate endDate) {
+            release(detailId);
+            bookings.put(startDate, new Booking(detailId, endDate));
+            startDates.put(detailId, startDate);
+        }
+
+        private synchronized void release(long detailId) {
+            LocalDate startDate = startDates.remove(detailId);
+            if (startDate == null) return;
+            Booking booking = bookings.get(startDate);
+            if (booking != null && booking.detailId == detailId) bookings.remove(startDate);
+        }
+
+        private synchronized boolean isFree(LocalDate startDate, LocalDate endDate) {
+            Map.Entry<LocalDate, Booking> before = bookings.lowerEntry(endDate);
+            return before == null || !before.getValue().endDate.isAfter(startDate);
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class Booking {
+
+        private final long detailId;
+        private final LocalDate endDate;
+    }
+
+    /**
+     * Criteria left null match any vehicle.
+     */
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class Criteria {
+
+        private long locationId;
+        private int minSeats;
+        private Long vehicleTypeId;
+        private GearType gearType;
+        private Boolean airConditioning;
+        private Boolean childSeats;
+
+        private boolean matches(VehicleDocument vehicle) {
+            return vehicle.isAvailability()
+                    && vehicle.getNoOfSeats() >= minSeats
+                    && (vehicleTypeId == null || vehicleTypeId.equals(vehicle.getVehicleTypeId()))
+                    && (gearType == null || gearType == vehicle.getGearType())
+                    && (airConditioning == null || airConditioning == vehicle.isAirConditioning())
+                    && (childSeats == null || childSeats == vehicle.isChildSeats());
+        }
+    }
+}
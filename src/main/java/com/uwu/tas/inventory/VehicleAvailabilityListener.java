@@ -0,0 +1,58 @@
+package com.uwu.tas.inventory;
+
+import com.uwu.tas.entity.ReservationVehicleDetail;
+import com.uwu.tas.entity.Vehicle;
+import com.uwu.tas.enums.ReservationStatus;
+import com.uwu.tas.util.AfterCommitEntityListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.time.LocalDate;
+
+/**
+ * Entity listener that applies writes of vehicles and vehicle reservation rows to
+ * {@link VehicleAvailabilityIndex} once they commit.
+ */
+public class VehicleAvailabilityListener extends AfterCommitEntityListener<VehicleAvailabilityIndex> {
+
+    public VehicleAvailabilityListener(ObjectProvider<VehicleAvailabilityIndex> vehicleAvailabilityIndex) {
+        super(vehicleAvailabilityIndex);
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Object entity) {
+        if (entity instanceof Vehicle) {
+            long vehicleId = ((Vehicle) entity).getId();
+            afterCommit(index -> index.reloadVehicle(vehicleId));
+        } else if (entity instanceof ReservationVehicleDetail) {
+            ReservationVehicleDetail detail = (ReservationVehicleDetail) entity;
+            if (detail.getVehicle() == null) return;
+            long vehicleId = detail.getVehicle().getId();
+            long detailId = detail.getId();
+            if (detail.getStatus() == ReservationStatus.CONFIRMED) {
+                LocalDate startDate = detail.getStartDate();
+                LocalDate endDate = detail.getEndDate();
+                afterCommit(index -> index.book(vehicleId, detailId, startDate, endDate));
+            } else {
+                afterCommit(index -> index.release(vehicleId, detailId));
+            }
+        }
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof Vehicle) {
+            long vehicleId = ((Vehicle) entity).getId();
+            afterCommit(index -> index.removeVehicle(vehicleId));
+        } else if (entity instanceof ReservationVehicleDetail) {
+            ReservationVehicleDetail detail = (ReservationVehicleDetail) entity;
+            if (detail.getVehicle() == null) return;
+            long vehicleId = detail.getVehicle().getId();
+            long detailId = detail.getId();
+            afterCommit(index -> index.release(vehicleId, detailId));
+        }
+    }
+}
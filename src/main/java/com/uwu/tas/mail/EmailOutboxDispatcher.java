@@ -0,0 +1,178 @@
+package com.uwu.tas.mail;
+
+import com.uwu.tas.entity.OutboxEmail;
+import com.uwu.tas.enums.OutboxStatus;
+import com.uwu.tas.repository.OutboxEmailRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.uwu.tas.config.AsyncConfig.MAIL_TASK_EXECUTOR;
+
+/**
+ * Delivers queued outbox emails. Due emails are split into batches that are sent on the
+ * bounded mail executor, each batch over a single SMTP connection. Failed emails are retried
+ * with exponential backoff and marked {@link OutboxStatus#DEAD} after the last attempt.
+ * Each poll first claims the emails it sends, so several instances can share the outbox
+ * without sending an email twice. Delivery is at least once: an email whose outcome could not
+ * be recorded is sent again once its claim has expired.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final JavaMailSender javaMailSender;
+    private final ThreadPoolTaskExecutor mailTaskExecutor;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedAttemptCount = new AtomicLong();
+    private final AtomicLong deadLetterCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong sendNanos = new AtomicLong();
+
+    public EmailOutboxDispatcher(OutboxEmailRepository outboxEmailRepository,
+                                 JavaMailSender javaMailSender,
+                                 @Qualifier(MAIL_TASK_EXECUTOR) ThreadPoolTaskExecutor mailTaskExecutor,
+                                 @Value("${tas.mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${tas.mail.outbox.max-attempts:6}") int maxAttempts,
+                                 @Value("${tas.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+                                 @Value("${tas.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+                                 @Value("${tas.mail.outbox.claim-timeout:5m}") Duration claimTimeout) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.javaMailSender = javaMailSender;
+        this.mailTaskExecutor = mailTaskExecutor;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+    }
+
+    /**
+     * Sends every email that is due, one executor-full of batches per poll.
+     */
+    @Scheduled(fixedDelayString = "${tas.mail.outbox.poll-interval:5000}")
+    public void dispatch() {
+        int limit = batchSize * mailTaskExecutor.getMaxPoolSize();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = outboxEmailRepository.findDueIds(now, PageRequest.of(0, limit));
+        if (dueIds.isEmpty()) return;
+        String token = UUID.randomUUID().toString();
+        outboxEmailRepository.claim(dueIds, token, now, now.plus(claimTimeout));
+        List<OutboxEmail> due = outboxEmailRepository.findByClaimTokenOrderById(token);
+        List<Future<?>> batches = new ArrayList<>();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<OutboxEmail> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            batches.add(mailTaskExecutor.submit(() -> sendBatch(batch)));
+        }
+        for (Future<?> batch : batches) {
+            try {
+                batch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                System.out.println("ERROR: EmailOutboxDispatcher.dispatch: " + e.getCause());
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long sent = sentCount.get();
+        double seconds = sendNanos.get() / 1e9;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", outboxEmailRepository.countByStatus(OutboxStatus.PENDING));
+        stats.put("dead", outboxEmailRepository.countByStatus(OutboxStatus.DEAD));
+        stats.put("sentCount", sent);
+        stats.put("failedAttemptCount", failedAttemptCount.get());
+        stats.put("deadLetterCount", deadLetterCount.get());
+        stats.put("batchCount", batchCount.get());
+        stats.put("sentPerSecond", seconds == 0 ? 0 : sent / seconds);
+        return stats;
+    }
+
+    private void sendBatch(List<OutboxEmail> batch) {
+        Map<SimpleMailMessage, OutboxEmail> messages = new IdentityHashMap<>();
+        Map<OutboxEmail, Exception> failures = new IdentityHashMap<>();
+        for (OutboxEmail email : batch) {
+            try {
+                messages.put(toMessage(email), email);
+            } catch (RuntimeException e) {
+                failures.put(email, e);
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!messages.isEmpty()) javaMailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, failure) -> failures.put(messages.get(message), failure));
+            if (e.getFailedMessages().isEmpty()) messages.values().forEach(email -> failures.put(email, e));
+        } catch (RuntimeException e) {
+            messages.values().forEach(email -> failures.put(email, e));
+        }
+        sendNanos.addAndGet(System.nanoTime() - start);
+        batchCount.incrementAndGet();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEmail email : batch) {
+            Exception failure = failures.get(email);
+            email.setAttempts(email.getAttempts() + 1);
+            email.setClaimToken(null);
+            if (failure == null) {
+                email.setStatus(OutboxStatus.SENT);
+                email.setSentDateTime(now);
+                email.setLastError(null);
+                sentCount.incrementAndGet();
+                continue;
+            }
+            failedAttemptCount.incrementAndGet();
+            email.setLastError(truncate(String.valueOf(failure.getMessage())));
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(OutboxStatus.DEAD);
+                deadLetterCount.incrementAndGet();
+                System.out.println("ERROR: EmailOutboxDispatcher.sendBatch: Giving up on email " + email.getId() + ": " + failure.getMessage());
+            } else {
+                email.setNextAttemptDateTime(now.plus(backoff(email.getAttempts())));
+            }
+        }
+        outboxEmailRepository.saveAll(batch);
+    }
+
+    private static SimpleMailMessage toMessage(OutboxEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(email.getRecipients().split(","));
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
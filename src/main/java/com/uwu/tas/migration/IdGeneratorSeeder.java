@@ -0,0 +1,44 @@
+package com.uwu.tas.migration;
+
+import com.uwu.tas.entity.IdGenerators;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the table id generators past the ids that already exist in their tables, which
+ * were assigned by auto increment before the tables switched to table generated ids. Runs
+ * once the schema is up to date and before the web server accepts requests.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorSeeder implements SmartInitializingSingleton {
+
+    private static final String[] TABLES = {"location_picture", "location_attraction_picture", "activity_location_detail"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String table : TABLES) {
+            long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            // the pooled optimizer hands out the block ending at the stored value
+            long floor = maxId + IdGenerators.ALLOCATION_SIZE;
+            List<Long> current = jdbcTemplate.queryForList("select " + IdGenerators.VALUE_COLUMN + " from " + IdGenerators.TABLE
+                    + " where " + IdGenerators.NAME_COLUMN + " = ?", Long.class, table);
+            if (current.isEmpty()) {
+                jdbcTemplate.update("insert into " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", "
+                        + IdGenerators.VALUE_COLUMN + ") values (?, ?)", table, floor);
+            } else if (current.get(0) < floor) {
+                jdbcTemplate.update("update " + IdGenerators.TABLE + " set " + IdGenerators.VALUE_COLUMN + " = ? where "
+                        + IdGenerators.NAME_COLUMN + " = ?", floor, table);
+            } else {
+                continue;
+            }
+            System.out.println("INFO: IdGeneratorSeeder.afterSingletonsInstantiated: " + table + " ids continue after " + maxId);
+        }
+    }
+}
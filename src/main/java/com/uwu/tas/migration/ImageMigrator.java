@@ -0,0 +1,83 @@
+package com.uwu.tas.migration;
+
+import com.uwu.tas.service.FileService;
+import com.uwu.tas.service.ImageStore;
+import com.uwu.tas.service.impl.DatabaseImageStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Moves images that are still stored in the old inline {@code image} column of
+ * activity and picture tables into the image store. When started with
+ * {@code --migrate-images}, also moves every image held in the image_content table
+ * to the configured store (e.g. local disk) and removes the database copy.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageMigrator implements ApplicationRunner {
+
+    public static final String MIGRATE_IMAGES_OPTION = "migrate-images";
+
+    private static final String[] TABLES = {"activity", "location_picture", "location_attraction_picture"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FileService fileService;
+    private final ImageStore imageStore;
+    private final DatabaseImageStore databaseImageStore;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        migrateInlineImages();
+        if (args.containsOption(MIGRATE_IMAGES_OPTION)) {
+            migrateDatabaseImages();
+        }
+    }
+
+    private void migrateInlineImages() {
+        for (String table : TABLES) {
+            List<Long> ids;
+            try {
+                ids = jdbcTemplate.queryForList("select id from " + table + " where image is not null and image_key is null", Long.class);
+            } catch (DataAccessException e) {
+                // no legacy image column, nothing to migrate
+                continue;
+            }
+            for (Long id : ids) {
+                byte[] image = jdbcTemplate.queryForObject("select image from " + table + " where id = ?", byte[].class, id);
+                String key = fileService.saveImage(image);
+                jdbcTemplate.update("update " + table + " set image_key = ?, image = null where id = ?", key, id);
+            }
+            if (!ids.isEmpty()) {
+                System.out.println("INFO: ImageMigrator.migrateInlineImages: Migrated " + ids.size() + " images from " + table);
+            }
+        }
+    }
+
+    private void migrateDatabaseImages() throws IOException {
+        if (imageStore == databaseImageStore) {
+            System.out.println("ERROR: ImageMigrator.migrateDatabaseImages: Image store is the database, nothing to migrate");
+            return;
+        }
+        int count = 0;
+        for (String key : databaseImageStore.findAllKeys()) {
+            Resource image = databaseImageStore.load(key);
+            if (image == null) continue;
+            try (InputStream in = image.getInputStream()) {
+                imageStore.save(key, StreamUtils.copyToByteArray(in));
+            }
+            databaseImageStore.delete(key);
+            count++;
+        }
+        System.out.println("INFO: ImageMigrator.migrateDatabaseImages: Moved " + count + " images out of the database");
+    }
+}
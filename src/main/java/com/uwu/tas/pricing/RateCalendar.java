@@ -0,0 +1,99 @@
+package com.uwu.tas.pricing;
+
+import com.uwu.tas.repository.projection.RoomPackageRateDocument;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable rate calendar of one room package: its rates flattened into non-overlapping
+ * date segments keyed by first night, so pricing a stay is one floor lookup plus a walk over
+ * the segments the stay crosses. Rates are applied in id order, each painting over the
+ * nights of the ones before it.
+ */
+public class RateCalendar {
+
+    private final long roomPackageId;
+    private final long version;
+    private final double nightlyPrice;
+    private final NavigableMap<LocalDate, Segment> segments = new TreeMap<>();
+
+    public RateCalendar(long roomPackageId, long version, double price, double discount, List<? extends RoomPackageRateDocument> rates) {
+        this.roomPackageId = roomPackageId;
+        this.version = version;
+        this.nightlyPrice = nightly(price, discount);
+        for (RoomPackageRateDocument rate : rates) {
+            if (rate.getStartDate().isBefore(rate.getEndDate())) {
+                paint(new Segment(rate.getStartDate(), rate.getEndDate(), nightly(rate.getPrice(), rate.getDiscount())));
+            }
+        }
+    }
+
+    public long getRoomPackageId() {
+        return roomPackageId;
+    }
+
+    /**
+     * Changes whenever the package or its rates change; quotes cached under an older version
+     * are never used again.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public RateQuote quote(LocalDate checkIn, LocalDate checkOut) {
+        double total = 0;
+        LocalDate night = checkIn;
+        while (night.isBefore(checkOut)) {
+            Map.Entry<LocalDate, Segment> entry = segments.floorEntry(night);
+            LocalDate until;
+            double price;
+            if (entry != null && entry.getValue().end.isAfter(night)) {
+                until = min(entry.getValue().end, checkOut);
+                price = entry.getValue().nightlyPrice;
+            } else {
+                LocalDate next = segments.higherKey(night);
+                until = next == null ? checkOut : min(next, checkOut);
+                price = nightlyPrice;
+            }
+            total += price * ChronoUnit.DAYS.between(night, until);
+            night = until;
+        }
+        return new RateQuote(roomPackageId, checkIn, checkOut, (int) ChronoUnit.DAYS.between(checkIn, checkOut), total);
+    }
+
+    private void paint(Segment segment) {
+        Map.Entry<LocalDate, Segment> before = segments.lowerEntry(segment.start);
+        if (before != null && before.getValue().end.isAfter(segment.start)) {
+            Segment cut = before.getValue();
+            segments.put(cut.start, new Segment(cut.start, segment.start, cut.nightlyPrice));
+            if (cut.end.isAfter(segment.end)) segments.put(segment.end, new Segment(segment.end, cut.end, cut.nightlyPrice));
+        }
+        NavigableMap<LocalDate, Segment> covered = segments.subMap(segment.start, true, segment.end, false);
+        Segment last = covered.isEmpty() ? null : covered.lastEntry().getValue();
+        covered.clear();
+        if (last != null && last.end.isAfter(segment.end)) segments.put(segment.end, new Segment(segment.end, last.end, last.nightlyPrice));
+        segments.put(segment.start, segment);
+    }
+
+    private static double nightly(double price, double discount) {
+        return Math.max(0, price - discount);
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    @AllArgsConstructor
+    private static final class Segment {
+
+        private final LocalDate start;
+        private final LocalDate end;
+        private final double nightlyPrice;
+    }
+}
@@ -0,0 +1,24 @@
+package com.uwu.tas.pricing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Price of one room of a package for a stay.
+ */
+@Getter
+@AllArgsConstructor
+public class RateQuote {
+
+    private final long roomPackageId;
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+    private final int nights;
+    private final double totalPrice;
+
+    public double getNightlyPrice() {
+        return totalPrice / nights;
+    }
+}
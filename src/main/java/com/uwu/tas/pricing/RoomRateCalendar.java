@@ -0,0 +1,93 @@
+package com.uwu.tas.pricing;
+
+import com.uwu.tas.cache.RateQuoteCache;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.repository.RoomPackageRateRepository;
+import com.uwu.tas.repository.RoomPackageRepository;
+import com.uwu.tas.repository.projection.RoomPackagePrice;
+import com.uwu.tas.repository.projection.RoomPackageRateDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate calendars of all room packages, so searches price stays without database access.
+ * Loaded at startup and every refresh interval (package prices have no write path of their
+ * own yet), reloaded for one package after its rates change, and loaded on first use for
+ * packages created since the last refresh. Bookings price from the database instead, since
+ * this copy is per node and can lag behind.
+ * <p>
+ * A calendar's version is taken before its rows are read, and a calendar only replaces one
+ * with a lower version, so a slow rebuild never overwrites a reload that read after it.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomRateCalendar {
+
+    private final RoomPackageRepository roomPackageRepository;
+    private final RoomPackageRateRepository roomPackageRateRepository;
+    private final RateQuoteCache rateQuoteCache;
+
+    private final ConcurrentMap<Long, RateCalendar> calendars = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${tas.pricing.rate-calendar.refresh-interval:300000}",
+            fixedDelayString = "${tas.pricing.rate-calendar.refresh-interval:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long version = versions.incrementAndGet();
+        Map<Long, List<RoomPackageRateDocument>> rates = new HashMap<>();
+        for (RoomPackageRateDocument rate : roomPackageRateRepository.findAllDocuments()) {
+            rates.computeIfAbsent(rate.getRoomPackageId(), id -> new ArrayList<>()).add(rate);
+        }
+        Set<Long> loaded = new HashSet<>();
+        for (RoomPackagePrice price : roomPackageRepository.findAllPrices()) {
+            put(calendar(price, version, rates.getOrDefault(price.getRoomPackageId(), Collections.emptyList())));
+            loaded.add(price.getRoomPackageId());
+        }
+        calendars.values().removeIf(calendar -> calendar.getVersion() < version && !loaded.contains(calendar.getRoomPackageId()));
+        System.out.println("INFO: RoomRateCalendar.rebuild: Loaded rate calendars of " + loaded.size() + " packages in "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Reads one package and its rates again. Call after the change has committed.
+     */
+    public void reload(long roomPackageId) {
+        long version = versions.incrementAndGet();
+        Optional<RoomPackagePrice> price = roomPackageRepository.findPriceById(roomPackageId);
+        if (price.isPresent()) {
+            put(calendar(price.get(), version, roomPackageRateRepository.findDocumentsByRoomPackageId(roomPackageId)));
+        } else {
+            calendars.computeIfPresent(roomPackageId, (id, calendar) -> calendar.getVersion() < version ? null : calendar);
+        }
+    }
+
+    public RateQuote quote(long roomPackageId, LocalDate checkIn, LocalDate checkOut) {
+        RateCalendar calendar = calendars.get(roomPackageId);
+        if (calendar == null) {
+            reload(roomPackageId);
+            calendar = calendars.get(roomPackageId);
+            if (calendar == null) throw new CustomServiceException(404, "Room package not found");
+        }
+        return rateQuoteCache.get(calendar, checkIn, checkOut);
+    }
+
+    private void put(RateCalendar calendar) {
+        calendars.merge(calendar.getRoomPackageId(), calendar,
+                (current, loaded) -> loaded.getVersion() > current.getVersion() ? loaded : current);
+    }
+
+    private static RateCalendar calendar(RoomPackagePrice price, long version, List<RoomPackageRateDocument> rates) {
+        return new RateCalendar(price.getRoomPackageId(), version, price.getPrice(), price.getDiscount(), rates);
+    }
+}
@@ -1,9 +1,21 @@
 package com.uwu.tas.repository;
 
 import com.uwu.tas.entity.Accommodation;
+import com.uwu.tas.repository.projection.AccommodationFacetDocument;
+import com.uwu.tas.repository.projection.GeoDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AccommodationRepository extends JpaRepository<Accommodation,Long> {
+
+    @Query("select a.id as id, a.name as name, a.latitude as latitude, a.longitude as longitude from Accommodation a")
+    List<GeoDocument> findAllGeoDocuments();
+
+    @Query("select a.id as accommodationId, t.id as accommodationTypeId, a.parking as parking, a.smoking as smoking, " +
+            "a.pets as pets from Accommodation a left join a.accommodationType t")
+    List<AccommodationFacetDocument> findAllFacetDocuments();
 }
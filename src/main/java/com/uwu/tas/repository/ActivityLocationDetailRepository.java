@@ -5,9 +5,12 @@ import com.uwu.tas.entity.ActivityLocationDetail;
 import com.uwu.tas.entity.Location;
 import com.uwu.tas.enums.VisibilityStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface ActivityLocationDetailRepository extends JpaRepository<ActivityLocationDetail, Long> {
@@ -17,4 +20,7 @@ public interface ActivityLocationDetailRepository extends JpaRepository<Activity
     boolean existsByLocationAndActivity(Location location, Activity activity);
 
     long countByLocation(Location location);
+
+    @Query("select d.activity.id from ActivityLocationDetail d where d.location = :location")
+    Set<Long> findActivityIdsByLocation(@Param("location") Location location);
 }
@@ -3,15 +3,25 @@ package com.uwu.tas.repository;
 import com.uwu.tas.entity.Activity;
 import com.uwu.tas.enums.VisibilityStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
     boolean existsByActivityName(String activityName);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Activity> findByVisibilityStatus(VisibilityStatus status);
 
+    @Query("select a.imageKey from Activity a where a.id = :id")
+    Optional<String> findImageKeyById(@Param("id") long id);
 }
@@ -0,0 +1,20 @@
+package com.uwu.tas.repository;
+
+import com.uwu.tas.entity.ImageContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImageContentRepository extends JpaRepository<ImageContent, String> {
+
+    @Query("select c.id from ImageContent c")
+    List<String> findAllIds();
+
+    @Query("select c.id from ImageContent c where c.id in :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+}
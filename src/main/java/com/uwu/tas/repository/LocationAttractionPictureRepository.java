@@ -1,14 +1,33 @@
 package com.uwu.tas.repository;
 
+import com.uwu.tas.entity.Location;
 import com.uwu.tas.entity.LocationAttraction;
 import com.uwu.tas.entity.LocationAttractionPicture;
+import com.uwu.tas.repository.projection.PictureReference;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LocationAttractionPictureRepository extends JpaRepository<LocationAttractionPicture, Long> {
 
-    List<LocationAttractionPicture> findByLocationAttraction(LocationAttraction locationAttraction);
+    @Query("select p.id as id, p.locationAttraction.id as ownerId, p.imageKey as imageKey from LocationAttractionPicture p " +
+            "where p.locationAttraction = :locationAttraction order by p.id")
+    List<PictureReference> findReferencesByLocationAttraction(@Param("locationAttraction") LocationAttraction locationAttraction);
+
+    @Query("select p.id as id, p.locationAttraction.id as ownerId, p.imageKey as imageKey from LocationAttractionPicture p " +
+            "where p.locationAttraction in :locationAttractions order by p.id")
+    List<PictureReference> findReferencesByLocationAttractions(@Param("locationAttractions") Collection<LocationAttraction> locationAttractions);
+
+    @Query("select p.id as id, p.locationAttraction.id as ownerId, p.imageKey as imageKey from LocationAttractionPicture p " +
+            "where p.locationAttraction.location = :location order by p.id")
+    List<PictureReference> findReferencesByLocation(@Param("location") Location location);
+
+    @Query("select p.imageKey from LocationAttractionPicture p where p.id = :id")
+    Optional<String> findImageKeyById(@Param("id") long id);
 }
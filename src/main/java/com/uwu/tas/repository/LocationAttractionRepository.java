@@ -2,7 +2,12 @@ package com.uwu.tas.repository;
 
 import com.uwu.tas.entity.Location;
 import com.uwu.tas.entity.LocationAttraction;
+import com.uwu.tas.repository.projection.GeoDocument;
+import com.uwu.tas.repository.projection.SearchDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,5 +21,21 @@ public interface LocationAttractionRepository extends JpaRepository<LocationAttr
 
     boolean existsByName(String name);
 
-    List<LocationAttraction> findByNameLike(String name);
+    @Query("select a from LocationAttraction a order by a.name, a.id")
+    List<LocationAttraction> findAllByName(Pageable pageable);
+
+    @Query("select a from LocationAttraction a " +
+            "where a.name > :afterName or (a.name = :afterName and a.id > :afterId) order by a.name, a.id")
+    List<LocationAttraction> findAllByNameAfter(@Param("afterName") String afterName, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select a.id as id, a.name as name, a.description as description, p.name as provinceName, " +
+            "a.visibilityStatus as visibilityStatus from LocationAttraction a join a.location l join l.province p")
+    List<SearchDocument> findAllSearchDocuments();
+
+    @Query("select a.id as id, a.name as name, l.latitude as latitude, l.longitude as longitude " +
+            "from LocationAttraction a join a.location l where a.visibilityStatus = com.uwu.tas.enums.VisibilityStatus.VISIBLE")
+    List<GeoDocument> findVisibleGeoDocuments();
+
+    @Query("select a.name from LocationAttraction a")
+    List<String> findAllNames();
 }
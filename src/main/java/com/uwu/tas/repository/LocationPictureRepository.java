@@ -1,9 +1,23 @@
 package com.uwu.tas.repository;
 
+import com.uwu.tas.entity.Location;
 import com.uwu.tas.entity.LocationPicture;
+import com.uwu.tas.repository.projection.PictureReference;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface LocationPictureRepository extends JpaRepository<LocationPicture, Long> {
+
+    @Query("select p.id as id, p.location.id as ownerId, p.imageKey as imageKey from LocationPicture p " +
+            "where p.location = :location order by p.id")
+    List<PictureReference> findReferencesByLocation(@Param("location") Location location);
+
+    @Query("select p.imageKey from LocationPicture p where p.id = :id")
+    Optional<String> findImageKeyById(@Param("id") long id);
 }
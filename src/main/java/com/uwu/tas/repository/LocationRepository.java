@@ -1,9 +1,18 @@
 package com.uwu.tas.repository;
 
 import com.uwu.tas.entity.Location;
+import com.uwu.tas.repository.projection.GeoDocument;
+import com.uwu.tas.repository.projection.LocationReference;
+import com.uwu.tas.repository.projection.LocationSummary;
+import com.uwu.tas.repository.projection.SearchDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,5 +20,36 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
 
     boolean existsByName(String name);
 
-    List<Location> findByNameLike(String name);
+    List<Location> findByNameLike(String name, Pageable pageable);
+
+    String SUMMARY_SELECT = "select l.id as id, l.name as name, l.longitude as longitude, l.latitude as latitude, " +
+            "l.description as description, l.minimumSpendingDays as minimumSpendingDays, " +
+            "l.visibilityStatus as visibilityStatus, l.updatedDateTime as updatedDateTime, " +
+            "p.id as provinceId, p.name as provinceName, " +
+            "(select count(d) from ActivityLocationDetail d where d.location = l) as numberOfActivities, " +
+            "(select count(a) from LocationAttraction a where a.location = l) as numberOfAttractions " +
+            "from Location l join l.province p ";
+
+    @Query(SUMMARY_SELECT + "order by l.updatedDateTime desc, l.id desc")
+    List<LocationSummary> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where l.updatedDateTime < :updatedDateTime " +
+            "or (l.updatedDateTime = :updatedDateTime and l.id < :id) " +
+            "order by l.updatedDateTime desc, l.id desc")
+    List<LocationSummary> findSummariesAfter(@Param("updatedDateTime") LocalDateTime updatedDateTime, @Param("id") long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where l.id in :ids")
+    List<LocationSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select l.id as id, l.name as name, l.description as description, p.name as provinceName, " +
+            "l.visibilityStatus as visibilityStatus from Location l join l.province p")
+    List<SearchDocument> findAllSearchDocuments();
+
+    @Query("select l.id as id, l.name as name, l.latitude as latitude, l.longitude as longitude from Location l " +
+            "where l.visibilityStatus = com.uwu.tas.enums.VisibilityStatus.VISIBLE")
+    List<GeoDocument> findVisibleGeoDocuments();
+
+    @Query("select l.id as id, l.name as name, l.latitude as latitude, l.longitude as longitude, p.name as provinceName " +
+            "from Location l left join l.province p")
+    List<LocationReference> findAllReferences();
 }
@@ -0,0 +1,38 @@
+package com.uwu.tas.repository;
+
+import com.uwu.tas.entity.OutboxEmail;
+import com.uwu.tas.enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    @Query("select e.id from OutboxEmail e where e.status = com.uwu.tas.enums.OutboxStatus.PENDING " +
+            "and e.nextAttemptDateTime <= :now order by e.nextAttemptDateTime, e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims the given emails that are still due by tagging them with the token and moving
+     * their next attempt to the end of the claim, so other dispatchers no longer see them as due.
+     */
+    @Transactional
+    @Modifying
+    @Query("update OutboxEmail e set e.claimToken = :token, e.nextAttemptDateTime = :claimedUntil " +
+            "where e.id in :ids and e.status = com.uwu.tas.enums.OutboxStatus.PENDING and e.nextAttemptDateTime <= :now")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("now") LocalDateTime now, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    List<OutboxEmail> findByClaimTokenOrderById(String claimToken);
+
+    long countByStatus(OutboxStatus status);
+}
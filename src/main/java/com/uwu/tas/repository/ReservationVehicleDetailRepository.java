@@ -1,9 +1,27 @@
 package com.uwu.tas.repository;
 
 import com.uwu.tas.entity.ReservationVehicleDetail;
+import com.uwu.tas.enums.ReservationStatus;
+import com.uwu.tas.repository.projection.VehicleBooking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface ReservationVehicleDetailRepository extends JpaRepository<ReservationVehicleDetail, Long> {
+
+    @Query("select d.id as detailId, d.vehicle.id as vehicleId, d.startDate as startDate, d.endDate as endDate " +
+            "from ReservationVehicleDetail d where d.status = :status and d.endDate > :from")
+    List<VehicleBooking> findBookings(@Param("status") ReservationStatus status, @Param("from") LocalDate from);
+
+    @Query("select count(d) > 0 from ReservationVehicleDetail d where d.vehicle.id = :vehicleId and d.status = :status " +
+            "and d.startDate < :endDate and d.endDate > :startDate")
+    boolean existsOverlapping(@Param("vehicleId") long vehicleId, @Param("status") ReservationStatus status,
+                              @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    List<ReservationVehicleDetail> findByVehicleReservationId(long vehicleReservationId);
 }
@@ -1,9 +1,16 @@
 package com.uwu.tas.repository;
 
 import com.uwu.tas.entity.RoomBathroomFacilityDetail;
+import com.uwu.tas.repository.projection.RoomFacetLink;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RoomBathroomFacilityDetailRepository extends JpaRepository<RoomBathroomFacilityDetail, Long> {
+
+    @Query("select d.room.id as roomId, d.bathroomFacility.id as valueId from RoomBathroomFacilityDetail d")
+    List<RoomFacetLink> findAllFacetLinks();
 }
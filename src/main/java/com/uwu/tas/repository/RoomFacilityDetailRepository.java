@@ -1,9 +1,16 @@
 package com.uwu.tas.repository;
 
 import com.uwu.tas.entity.RoomFacilityDetail;
+import com.uwu.tas.repository.projection.RoomFacetLink;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RoomFacilityDetailRepository extends JpaRepository<RoomFacilityDetail, Long> {
+
+    @Query("select d.room.id as roomId, d.facility.id as valueId from RoomFacilityDetail d")
+    List<RoomFacetLink> findAllFacetLinks();
 }
@@ -0,0 +1,41 @@
+package com.uwu.tas.repository;
+
+import com.uwu.tas.entity.RoomInventory;
+import com.uwu.tas.repository.projection.RoomNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RoomInventoryRepository extends JpaRepository<RoomInventory, Long> {
+
+    @Query("select i.night from RoomInventory i where i.room.id = :roomId and i.night >= :from and i.night < :to")
+    List<LocalDate> findNights(@Param("roomId") long roomId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Books {@code count} rooms on every night in the range that still has them free, and
+     * returns the number of nights booked. The caller rolls back unless that is every night.
+     */
+    @Modifying
+    @Query("update RoomInventory i set i.booked = i.booked + :count where i.room.id = :roomId " +
+            "and i.night >= :from and i.night < :to and i.booked + :count <= i.total")
+    int book(@Param("roomId") long roomId, @Param("from") LocalDate from, @Param("to") LocalDate to, @Param("count") int count);
+
+    @Modifying
+    @Query("update RoomInventory i set i.booked = i.booked - :count where i.room.id = :roomId " +
+            "and i.night >= :from and i.night < :to and i.booked >= :count")
+    int release(@Param("roomId") long roomId, @Param("from") LocalDate from, @Param("to") LocalDate to, @Param("count") int count);
+
+    @Query("select i.room.id as roomId, i.night as night from RoomInventory i " +
+            "where i.night >= :from and i.booked >= i.total")
+    List<RoomNight> findSoldOutNights(@Param("from") LocalDate from);
+
+    @Query("select i.room.id as roomId, i.night as night from RoomInventory i " +
+            "where i.room.id = :roomId and i.night >= :from and i.night < :to and i.booked >= i.total")
+    List<RoomNight> findSoldOutNights(@Param("roomId") long roomId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,22 @@
+package com.uwu.tas.repository;
+
+import com.uwu.tas.entity.RoomPackageRate;
+import com.uwu.tas.repository.projection.RoomPackageRateDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RoomPackageRateRepository extends JpaRepository<RoomPackageRate, Long> {
+
+    @Query("select r.id as id, r.roomPackage.id as roomPackageId, r.startDate as startDate, r.endDate as endDate, " +
+            "r.price as price, r.discount as discount from RoomPackageRate r order by r.id")
+    List<RoomPackageRateDocument> findAllDocuments();
+
+    @Query("select r.id as id, r.roomPackage.id as roomPackageId, r.startDate as startDate, r.endDate as endDate, " +
+            "r.price as price, r.discount as discount from RoomPackageRate r where r.roomPackage.id = :roomPackageId order by r.id")
+    List<RoomPackageRateDocument> findDocumentsByRoomPackageId(@Param("roomPackageId") long roomPackageId);
+}
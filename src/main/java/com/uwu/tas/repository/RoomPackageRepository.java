@@ -1,9 +1,29 @@
 package com.uwu.tas.repository;
 
 import com.uwu.tas.entity.RoomPackage;
+import com.uwu.tas.repository.projection.RoomOfferDocument;
+import com.uwu.tas.repository.projection.RoomPackagePrice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface RoomPackageRepository extends JpaRepository<RoomPackage, Long> {
+
+    @Query("select p.id as roomPackageId, p.noOfPeople as noOfPeople, p.price as price, p.discount as discount, " +
+            "r.id as roomId, r.name as roomName, a.id as accommodationId, a.name as accommodationName, " +
+            "a.latitude as latitude, a.longitude as longitude, a.parking as parking, a.smoking as smoking, " +
+            "a.pets as pets, a.rating as rating " +
+            "from RoomPackage p join p.room r join r.accommodation a where r.availableCount > 0")
+    List<RoomOfferDocument> findAllOfferDocuments();
+
+    @Query("select p.id as roomPackageId, p.price as price, p.discount as discount from RoomPackage p")
+    List<RoomPackagePrice> findAllPrices();
+
+    @Query("select p.id as roomPackageId, p.price as price, p.discount as discount from RoomPackage p where p.id = :id")
+    Optional<RoomPackagePrice> findPriceById(@Param("id") long id);
 }
@@ -1,9 +1,17 @@
 package com.uwu.tas.repository;
 
 import com.uwu.tas.entity.Room;
+import com.uwu.tas.repository.projection.RoomFacetDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
+
+    @Query("select r.id as roomId, a.id as accommodationId, v.id as viewId from Room r " +
+            "left join r.accommodation a left join r.view v")
+    List<RoomFacetDocument> findAllFacetDocuments();
 }
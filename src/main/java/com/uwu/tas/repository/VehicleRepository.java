@@ -1,9 +1,36 @@
 package com.uwu.tas.repository;
 
 import com.uwu.tas.entity.Vehicle;
+import com.uwu.tas.repository.projection.VehicleDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
+
+    String DOCUMENT_SELECT = "select v.id as vehicleId, v.name as name, v.noOfSeats as noOfSeats, v.gearType as gearType, " +
+            "v.childSeats as childSeats, v.airConditioning as airConditioning, v.availability as availability, " +
+            "t.id as vehicleTypeId, t.rentalPricePerKm as rentalPricePerKm, l.id as locationId " +
+            "from Vehicle v left join v.vehicleType t left join v.location l";
+
+    @Query(DOCUMENT_SELECT)
+    List<VehicleDocument> findAllDocuments();
+
+    @Query(DOCUMENT_SELECT + " where v.id = :id")
+    Optional<VehicleDocument> findDocumentById(@Param("id") long id);
+
+    /**
+     * Locks the vehicle row until the transaction ends, so allocations of one vehicle run
+     * one after another.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Vehicle v where v.id = :id")
+    Optional<Vehicle> findAndLockById(@Param("id") long id);
 }
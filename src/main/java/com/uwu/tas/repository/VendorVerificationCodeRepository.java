@@ -2,9 +2,19 @@ package com.uwu.tas.repository;
 
 import com.uwu.tas.entity.VendorVerificationCode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Repository
 public interface VendorVerificationCodeRepository extends JpaRepository<VendorVerificationCode, String> {
 
+    @Transactional
+    @Modifying
+    @Query("delete from VendorVerificationCode c where c.dateTime < :before")
+    int deleteIssuedBefore(@Param("before") LocalDateTime before);
 }
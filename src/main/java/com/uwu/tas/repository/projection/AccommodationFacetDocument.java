@@ -0,0 +1,14 @@
+package com.uwu.tas.repository.projection;
+
+public interface AccommodationFacetDocument {
+
+    long getAccommodationId();
+
+    Long getAccommodationTypeId();
+
+    boolean isParking();
+
+    boolean isSmoking();
+
+    boolean isPets();
+}
@@ -0,0 +1,12 @@
+package com.uwu.tas.repository.projection;
+
+public interface GeoDocument {
+
+    long getId();
+
+    String getName();
+
+    double getLatitude();
+
+    double getLongitude();
+}
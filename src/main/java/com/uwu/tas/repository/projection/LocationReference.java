@@ -0,0 +1,14 @@
+package com.uwu.tas.repository.projection;
+
+public interface LocationReference {
+
+    long getId();
+
+    String getName();
+
+    double getLatitude();
+
+    double getLongitude();
+
+    String getProvinceName();
+}
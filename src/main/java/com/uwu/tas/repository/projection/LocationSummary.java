@@ -0,0 +1,32 @@
+package com.uwu.tas.repository.projection;
+
+import com.uwu.tas.enums.VisibilityStatus;
+
+import java.time.LocalDateTime;
+
+public interface LocationSummary {
+
+    long getId();
+
+    String getName();
+
+    double getLongitude();
+
+    double getLatitude();
+
+    String getDescription();
+
+    int getMinimumSpendingDays();
+
+    VisibilityStatus getVisibilityStatus();
+
+    LocalDateTime getUpdatedDateTime();
+
+    long getProvinceId();
+
+    String getProvinceName();
+
+    long getNumberOfActivities();
+
+    long getNumberOfAttractions();
+}
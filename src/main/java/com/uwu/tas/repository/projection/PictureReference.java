@@ -0,0 +1,10 @@
+package com.uwu.tas.repository.projection;
+
+public interface PictureReference {
+
+    long getId();
+
+    long getOwnerId();
+
+    String getImageKey();
+}
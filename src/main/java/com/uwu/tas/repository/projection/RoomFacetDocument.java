@@ -0,0 +1,10 @@
+package com.uwu.tas.repository.projection;
+
+public interface RoomFacetDocument {
+
+    long getRoomId();
+
+    Long getAccommodationId();
+
+    Long getViewId();
+}
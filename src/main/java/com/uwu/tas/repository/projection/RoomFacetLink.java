@@ -0,0 +1,8 @@
+package com.uwu.tas.repository.projection;
+
+public interface RoomFacetLink {
+
+    long getRoomId();
+
+    long getValueId();
+}
@@ -0,0 +1,10 @@
+package com.uwu.tas.repository.projection;
+
+import java.time.LocalDate;
+
+public interface RoomNight {
+
+    long getRoomId();
+
+    LocalDate getNight();
+}
@@ -0,0 +1,32 @@
+package com.uwu.tas.repository.projection;
+
+public interface RoomOfferDocument {
+
+    long getRoomPackageId();
+
+    int getNoOfPeople();
+
+    double getPrice();
+
+    double getDiscount();
+
+    long getRoomId();
+
+    String getRoomName();
+
+    long getAccommodationId();
+
+    String getAccommodationName();
+
+    double getLatitude();
+
+    double getLongitude();
+
+    boolean isParking();
+
+    boolean isSmoking();
+
+    boolean isPets();
+
+    double getRating();
+}
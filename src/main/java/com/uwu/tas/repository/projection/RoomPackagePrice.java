@@ -0,0 +1,10 @@
+package com.uwu.tas.repository.projection;
+
+public interface RoomPackagePrice {
+
+    long getRoomPackageId();
+
+    double getPrice();
+
+    double getDiscount();
+}
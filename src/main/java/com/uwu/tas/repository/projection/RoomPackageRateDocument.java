@@ -0,0 +1,18 @@
+package com.uwu.tas.repository.projection;
+
+import java.time.LocalDate;
+
+public interface RoomPackageRateDocument {
+
+    long getId();
+
+    long getRoomPackageId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    double getPrice();
+
+    double getDiscount();
+}
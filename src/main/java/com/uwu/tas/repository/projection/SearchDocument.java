@@ -0,0 +1,16 @@
+package com.uwu.tas.repository.projection;
+
+import com.uwu.tas.enums.VisibilityStatus;
+
+public interface SearchDocument {
+
+    long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getProvinceName();
+
+    VisibilityStatus getVisibilityStatus();
+}
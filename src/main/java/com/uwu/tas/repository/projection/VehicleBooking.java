@@ -0,0 +1,14 @@
+package com.uwu.tas.repository.projection;
+
+import java.time.LocalDate;
+
+public interface VehicleBooking {
+
+    long getDetailId();
+
+    long getVehicleId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
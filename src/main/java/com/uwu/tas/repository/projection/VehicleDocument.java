@@ -0,0 +1,26 @@
+package com.uwu.tas.repository.projection;
+
+import com.uwu.tas.enums.GearType;
+
+public interface VehicleDocument {
+
+    long getVehicleId();
+
+    String getName();
+
+    int getNoOfSeats();
+
+    GearType getGearType();
+
+    boolean isChildSeats();
+
+    boolean isAirConditioning();
+
+    boolean isAvailability();
+
+    Long getVehicleTypeId();
+
+    Double getRentalPricePerKm();
+
+    Long getLocationId();
+}
@@ -0,0 +1,215 @@
+package com.uwu.tas.search;
+
+import com.uwu.tas.enums.AccommodationSort;
+import com.uwu.tas.repository.projection.RoomOfferDocument;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.*;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+
+import static com.uwu.tas.constant.TASConstants.Nearby.CELL_DEGREES;
+
+/**
+ * Immutable, denormalised snapshot of every bookable room package, grouped by accommodation
+ * and placed on a geo grid. A search visits only the accommodations in the radius and
+ * their packages (kept cheapest first), so no database access or joins happen per query.
+ */
+public class AccommodationOfferIndex {
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final GeoGridIndex geoGridIndex = new GeoGridIndex(CELL_DEGREES);
+    private final int offerCount;
+
+    public AccommodationOfferIndex(List<? extends RoomOfferDocument> documents) {
+        Map<Long, List<Offer>> offers = new HashMap<>();
+        for (RoomOfferDocument document : documents) {
+            entries.computeIfAbsent(document.getAccommodationId(), id -> new Entry(document));
+            offers.computeIfAbsent(document.getAccommodationId(), id -> new ArrayList<>()).add(new Offer(document.getRoomId(),
+                    document.getRoomName(), document.getRoomPackageId(), document.getNoOfPeople(),
+                    Math.max(0, document.getPrice() - document.getDiscount())));
+        }
+        for (Entry entry : entries.values()) {
+            List<Offer> accommodationOffers = offers.get(entry.id);
+            accommodationOffers.sort(Comparator.comparingDouble(Offer::getPrice));
+            entry.offers = accommodationOffers.toArray(new Offer[0]);
+            geoGridIndex.put(entry.id, entry.name, entry.latitude, entry.longitude);
+        }
+        this.offerCount = documents.size();
+    }
+
+    public int getAccommodationCount() {
+        return entries.size();
+    }
+
+    public int getOfferCount() {
+        return offerCount;
+    }
+
+    /**
+     * Accommodations within the radius that have a matching package, each with its cheapest
+     * matching package, in the requested order. {@code roomAvailable} is asked at most once
+     * per room.
+     */
+    public List<Result> search(Criteria criteria, LongPredicate roomAvailable) {
+        return search(criteria, roomAvailable, null);
+    }
+
+    /**
+     * Like {@link #search(Criteria, LongPredicate)}, with the nightly price of each package
+     * given by {@code nightlyPrice} (by package id) instead of its base price. Seasonal rates
+     * can reorder a package list sorted by base price, so every package of an accommodation
+     * in the radius is priced.
+     */
+    public List<Result> search(Criteria criteria, LongPredicate roomAvailable, LongToDoubleFunction nightlyPrice) {
+        List<GeoGridIndex.Hit> hits = geoGridIndex.within(criteria.latitude, criteria.longitude, criteria.radiusKm, Integer.MAX_VALUE);
+        List<Result> results = new ArrayList<>();
+        Map<Long, Boolean> availability = new HashMap<>();
+        for (GeoGridIndex.Hit hit : hits) {
+            Entry entry = entries.get(hit.getPoint().getId());
+            if (!entry.matches(criteria)) continue;
+            Offer cheapest = null;
+            double cheapestPrice = Double.MAX_VALUE;
+            for (Offer offer : entry.offers) {
+                double price = nightlyPrice == null ? offer.price : nightlyPrice.applyAsDouble(offer.roomPackageId);
+                if (criteria.maxPrice != null && price > criteria.maxPrice) {
+                    if (nightlyPrice == null) break;
+                    continue;
+                }
+                if (criteria.minPrice != null && price < criteria.minPrice) continue;
+                if (offer.noOfPeople < criteria.people || price >= cheapestPrice) continue;
+                if (!availability.computeIfAbsent(offer.roomId, roomAvailable::test)) continue;
+                cheapest = offer;
+                cheapestPrice = price;
+                if (nightlyPrice == null) break;
+            }
+            if (cheapest != null) {
+                results.add(new Result(entry.id, entry.name, entry.latitude, entry.longitude, entry.rating,
+                        hit.getDistance(), score(entry, hit.getDistance(), criteria.radiusKm), cheapest, cheapestPrice));
+            }
+        }
+        results.sort(comparator(criteria.sort));
+        return results;
+    }
+
+    /**
+     * Ids of the rooms with at least one package at accommodations within the radius.
+     */
+    public Set<Long> roomIdsWithin(double latitude, double longitude, double radiusKm) {
+        Set<Long> roomIds = new HashSet<>();
+        for (GeoGridIndex.Hit hit : geoGridIndex.within(latitude, longitude, radiusKm, Integer.MAX_VALUE)) {
+            for (Offer offer : entries.get(hit.getPoint().getId()).offers) {
+                roomIds.add(offer.roomId);
+            }
+        }
+        return roomIds;
+    }
+
+    /**
+     * Rating out of 5 less up to two stars for distance, so a close, well rated place ranks
+     * above a slightly better rated one at the edge of the radius.
+     */
+    private static double score(Entry entry, double distance, double radiusKm) {
+        return entry.rating - 2 * distance / Math.max(radiusKm, 1e-9);
+    }
+
+    private static Comparator<Result> comparator(AccommodationSort sort) {
+        Comparator<Result> byId = Comparator.comparingLong(Result::getAccommodationId);
+        switch (sort == null ? AccommodationSort.RECOMMENDED : sort) {
+            case PRICE:
+                return Comparator.comparingDouble(Result::getPrice).thenComparing(byId);
+            case DISTANCE:
+                return Comparator.comparingDouble(Result::getDistance).thenComparing(byId);
+            case RATING:
+                return Comparator.comparingDouble(Result::getRating).reversed().thenComparingDouble(Result::getDistance).thenComparing(byId);
+            default:
+                return Comparator.comparingDouble(Result::getScore).reversed().thenComparing(byId);
+        }
+    }
+
+    private static final class Entry {
+
+        private final long id;
+        private final String name;
+        private final double latitude;
+        private final double longitude;
+        private final boolean parking;
+        private final boolean smoking;
+        private final boolean pets;
+        private final double rating;
+        private Offer[] offers;
+
+        private Entry(RoomOfferDocument document) {
+            this.id = document.getAccommodationId();
+            this.name = document.getAccommodationName();
+            this.latitude = document.getLatitude();
+            this.longitude = document.getLongitude();
+            this.parking = document.isParking();
+            this.smoking = document.isSmoking();
+            this.pets = document.isPets();
+            this.rating = document.getRating();
+        }
+
+        private boolean matches(Criteria criteria) {
+            return (criteria.parking == null || criteria.parking == parking)
+                    && (criteria.smoking == null || criteria.smoking == smoking)
+                    && (criteria.pets == null || criteria.pets == pets);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Offer {
+
+        private final long roomId;
+        private final String roomName;
+        private final long roomPackageId;
+        private final int noOfPeople;
+        /**
+         * Per night, after discount.
+         */
+        private final double price;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Result {
+
+        private final long accommodationId;
+        private final String accommodationName;
+        private final double latitude;
+        private final double longitude;
+        private final double rating;
+        private final double distance;
+        private final double score;
+        private final Offer offer;
+        /**
+         * Per night of the stay, after discount.
+         */
+        private final double price;
+    }
+
+    /**
+     * Flags left null match either value.
+     */
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class Criteria {
+
+        private double latitude;
+        private double longitude;
+        private double radiusKm;
+        private int people;
+        private Double minPrice;
+        private Double maxPrice;
+        private Boolean parking;
+        private Boolean smoking;
+        private Boolean pets;
+        private AccommodationSort sort;
+    }
+}
@@ -0,0 +1,40 @@
+package com.uwu.tas.search;
+
+import com.uwu.tas.repository.RoomPackageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * Holds the current {@link AccommodationOfferIndex}. Accommodations, rooms and packages
+ * have no write path in this application yet, so the snapshot is rebuilt from one query at
+ * startup and every refresh interval and swapped in whole; searches never see a partly
+ * built index.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccommodationSearchIndex {
+
+    private final RoomPackageRepository roomPackageRepository;
+
+    private volatile AccommodationOfferIndex current = new AccommodationOfferIndex(Collections.emptyList());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${tas.search.accommodation.refresh-interval:300000}",
+            fixedDelayString = "${tas.search.accommodation.refresh-interval:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        AccommodationOfferIndex index = new AccommodationOfferIndex(roomPackageRepository.findAllOfferDocuments());
+        current = index;
+        System.out.println("INFO: AccommodationSearchIndex.rebuild: Indexed " + index.getOfferCount() + " room packages of "
+                + index.getAccommodationCount() + " accommodations in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    public AccommodationOfferIndex get() {
+        return current;
+    }
+}
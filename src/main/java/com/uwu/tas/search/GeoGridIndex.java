@@ -0,0 +1,176 @@
+package com.uwu.tas.search;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread safe in-memory index of points bucketed into fixed size latitude/longitude cells.
+ * A radius query only visits the cells overlapping the bounding box of the circle and
+ * computes great circle distances for the points in them, so its cost follows the local
+ * density rather than the total number of points.
+ */
+public class GeoGridIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double cellDegrees;
+    private final int columns;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<Long, Point> points = new HashMap<>();
+
+    public GeoGridIndex(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /**
+     * Adds or moves a point.
+     */
+    public void put(long id, String name, double latitude, double longitude) {
+        Point point = new Point(id, name, latitude, longitude);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            points.put(id, point);
+            cells.computeIfAbsent(cellKey(row(latitude), column(longitude)), key -> new ArrayList<>()).add(point);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            points.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Point get(long id) {
+        lock.readLock().lock();
+        try {
+            return points.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the points within {@code radiusKm} of the given position, nearest first.
+     */
+    public List<Hit> within(double latitude, double longitude, double radiusKm, int limit) {
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        double minLatitude = Math.max(-90, latitude - latitudeSpan);
+        double maxLatitude = Math.min(90, latitude + latitudeSpan);
+        // widest longitude span of the circle is at the latitude furthest from the equator
+        double cos = Math.cos(Math.toRadians(Math.max(Math.abs(minLatitude), Math.abs(maxLatitude))));
+        double longitudeSpan = cos <= 0 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE * cos));
+
+        int fromRow = row(minLatitude);
+        int toRow = row(maxLatitude);
+        int fromColumn = unwrappedColumn(longitude - longitudeSpan);
+        int toColumn = unwrappedColumn(longitude + longitudeSpan);
+        if (longitudeSpan >= 180 || toColumn - fromColumn >= columns) {
+            fromColumn = 0;
+            toColumn = columns - 1;
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int row = fromRow; row <= toRow; row++) {
+                for (int column = fromColumn; column <= toColumn; column++) {
+                    List<Point> cell = cells.get(cellKey(row, Math.floorMod(column, columns)));
+                    if (cell == null) continue;
+                    for (Point point : cell) {
+                        double distance = distanceKm(latitude, longitude, point.latitude, point.longitude);
+                        if (distance <= radiusKm) hits.add(new Hit(point, distance));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(Hit::getDistance));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void removeInternal(long id) {
+        Point point = points.remove(id);
+        if (point == null) return;
+        long key = cellKey(row(point.latitude), column(point.longitude));
+        List<Point> cell = cells.get(key);
+        cell.remove(point);
+        if (cell.isEmpty()) cells.remove(key);
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod(unwrappedColumn(longitude), columns);
+    }
+
+    private int unwrappedColumn(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    private long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Point {
+
+        private final long id;
+        private final String name;
+        private final double latitude;
+        private final double longitude;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Hit {
+
+        private final Point point;
+        private final double distance;
+    }
+}
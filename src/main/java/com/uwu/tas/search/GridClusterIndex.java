@@ -0,0 +1,215 @@
+package com.uwu.tas.search;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread safe hierarchy of point clusters on the Web Mercator grid, one level per map zoom.
+ * At zoom {@code z} the world is split into {@code 2^z * CELLS_PER_TILE} cells per side,
+ * so every cell is exactly four cells of the next level. Each cell keeps a count, the
+ * coordinate sums for its centroid and a representative point; adding or removing a point
+ * touches one cell per level.
+ */
+public class GridClusterIndex {
+
+    public static final int MAX_ZOOM = 18;
+    /**
+     * Cells per 256px map tile side, i.e. one cluster per 64px square on screen.
+     */
+    private static final int CELLS_PER_TILE = 4;
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+    private final Map<Long, double[]> points = new HashMap<>();
+
+    public GridClusterIndex() {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds or moves a point.
+     */
+    public void put(long id, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            double[] point = {latitude, longitude};
+            points.put(id, point);
+            for (int zoom = MAX_ZOOM; zoom >= 0; zoom--) {
+                boolean deepest = zoom == MAX_ZOOM;
+                Cell cell = levels.get(zoom).computeIfAbsent(cellKey(zoom, point), key -> new Cell(deepest));
+                cell.count++;
+                cell.latitudeSum += latitude;
+                cell.longitudeSum += longitude;
+                if (cell.members != null) cell.members.add(id);
+                if (cell.count == 1) cell.representativeId = id;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            levels.forEach(Map::clear);
+            points.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of grid cells a bounding box spans at the given zoom, so callers can refuse
+     * viewports that would produce oversized responses.
+     */
+    public static long cellsWithin(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, int zoom) {
+        int size = gridSize(zoom);
+        long rows = row(minLatitude, size) - row(maxLatitude, size) + 1;
+        long columns = columnRanges(minLongitude, maxLongitude, size).stream().mapToLong(range -> range[1] - range[0] + 1).sum();
+        return rows * columns;
+    }
+
+    /**
+     * Returns the non-empty clusters of the given zoom level inside the bounding box. A box
+     * with {@code minLongitude > maxLongitude} crosses the antimeridian.
+     */
+    public List<Cluster> clusters(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, int zoom) {
+        int size = gridSize(zoom);
+        int fromRow = row(maxLatitude, size);
+        int toRow = row(minLatitude, size);
+        List<int[]> columnRanges = columnRanges(minLongitude, maxLongitude, size);
+
+        List<Cluster> clusters = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> level = levels.get(zoom);
+            for (int row = fromRow; row <= toRow; row++) {
+                for (int[] range : columnRanges) {
+                    for (int column = range[0]; column <= range[1]; column++) {
+                        Cell cell = level.get(cellKey(row, column));
+                        if (cell != null) clusters.add(cell.toCluster());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return clusters;
+    }
+
+    private void removeInternal(long id) {
+        double[] point = points.remove(id);
+        if (point == null) return;
+        for (int zoom = MAX_ZOOM; zoom >= 0; zoom--) {
+            Map<Long, Cell> level = levels.get(zoom);
+            long key = cellKey(zoom, point);
+            Cell cell = level.get(key);
+            cell.count--;
+            cell.latitudeSum -= point[0];
+            cell.longitudeSum -= point[1];
+            if (cell.members != null) cell.members.remove(id);
+            if (cell.count == 0) {
+                level.remove(key);
+            } else if (cell.representativeId == id) {
+                cell.representativeId = cell.members != null ? cell.members.iterator().next() : largestChild(zoom, key).representativeId;
+            }
+        }
+    }
+
+    /**
+     * The most populated of the four cells of the next level that make up the given cell.
+     */
+    private Cell largestChild(int zoom, long key) {
+        int row = (int) (key >> 32);
+        int column = (int) key;
+        Map<Long, Cell> children = levels.get(zoom + 1);
+        Cell largest = null;
+        for (int childRow = row * 2; childRow <= row * 2 + 1; childRow++) {
+            for (int childColumn = column * 2; childColumn <= column * 2 + 1; childColumn++) {
+                Cell child = children.get(cellKey(childRow, childColumn));
+                if (child != null && (largest == null || child.count > largest.count)) largest = child;
+            }
+        }
+        return largest;
+    }
+
+    private static int gridSize(int zoom) {
+        return CELLS_PER_TILE << zoom;
+    }
+
+    private static long cellKey(int zoom, double[] point) {
+        int size = gridSize(zoom);
+        return cellKey(row(point[0], size), column(point[1], size));
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static int row(double latitude, int size) {
+        double sin = Math.sin(Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude))));
+        double y = 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+        return Math.min(size - 1, (int) Math.floor(y * size));
+    }
+
+    private static int column(double longitude, int size) {
+        double x = (Math.max(-180, Math.min(180, longitude)) + 180) / 360;
+        return Math.min(size - 1, (int) Math.floor(x * size));
+    }
+
+    private static List<int[]> columnRanges(double minLongitude, double maxLongitude, int size) {
+        if (minLongitude <= maxLongitude) {
+            return Collections.singletonList(new int[]{column(minLongitude, size), column(maxLongitude, size)});
+        }
+        return Arrays.asList(new int[]{column(minLongitude, size), size - 1}, new int[]{0, column(maxLongitude, size)});
+    }
+
+    private static final class Cell {
+
+        private int count;
+        private double latitudeSum;
+        private double longitudeSum;
+        private long representativeId;
+        /**
+         * Point ids, only kept at the deepest level; coarser levels pick a new representative
+         * from their children.
+         */
+        private final Set<Long> members;
+
+        private Cell(boolean keepMembers) {
+            this.members = keepMembers ? new LinkedHashSet<>() : null;
+        }
+
+        private Cluster toCluster() {
+            return new Cluster(count, latitudeSum / count, longitudeSum / count, representativeId);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Cluster {
+
+        private final int count;
+        private final double latitude;
+        private final double longitude;
+        private final long representativeId;
+    }
+}
@@ -0,0 +1,217 @@
+package com.uwu.tas.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Thread safe in-memory inverted index over weighted text fields of documents identified
+ * by a long id. Every query token must match a document term exactly, as a prefix, or
+ * within one edit (for tokens of four or more characters); documents are ranked by the
+ * summed field weights of their best matches, scaled down for prefix and fuzzy matches.
+ */
+public class InvertedIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.6f;
+    private static final float FUZZY_MATCH = 0.4f;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    /**
+     * Single deletion variants of every term, so typo candidates are found with a few
+     * hash lookups instead of scanning the vocabulary.
+     */
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : NON_ALPHANUMERIC.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    /**
+     * Adds or replaces a document. Keys of {@code fields} are the texts, values their weights.
+     */
+    public void put(long id, Map<String, Float> fields) {
+        Map<String, Float> weights = new HashMap<>();
+        for (Map.Entry<String, Float> field : fields.entrySet()) {
+            for (String term : tokenize(field.getKey())) {
+                weights.merge(term, field.getValue(), Math::max);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                String term = entry.getKey();
+                Map<Long, Float> documents = postings.get(term);
+                if (documents == null) {
+                    documents = new HashMap<>();
+                    postings.put(term, documents);
+                    for (String deletion : deletionsOf(term)) {
+                        deletions.computeIfAbsent(deletion, key -> new HashSet<>()).add(term);
+                    }
+                }
+                documents.put(id, entry.getValue());
+            }
+            documentTerms.put(id, weights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            deletions.clear();
+            documentTerms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of matching documents, best first, at most {@code limit} of them.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) return new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = match(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + tokenScores.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) break;
+            }
+            List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Float.compare(b.getValue(), a.getValue());
+                return byScore != 0 ? byScore : Long.compare(a.getKey(), b.getKey());
+            });
+            List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = 0; i < ranked.size() && i < limit; i++) {
+                ids.add(ranked.get(i).getKey());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> match(String token) {
+        Map<Long, Float> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> entry : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            score(scores, entry.getValue(), entry.getKey().equals(token) ? EXACT_MATCH : PREFIX_MATCH);
+        }
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            Set<String> candidates = new HashSet<>();
+            addAll(candidates, deletions.get(token));
+            for (String deletion : deletionsOf(token)) {
+                if (postings.containsKey(deletion)) candidates.add(deletion);
+                addAll(candidates, deletions.get(deletion));
+            }
+            for (String candidate : candidates) {
+                if (!candidate.startsWith(token) && withinOneEdit(token, candidate)) {
+                    score(scores, postings.get(candidate), FUZZY_MATCH);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void score(Map<Long, Float> scores, Map<Long, Float> documents, float match) {
+        for (Map.Entry<Long, Float> document : documents.entrySet()) {
+            scores.merge(document.getKey(), document.getValue() * match, Math::max);
+        }
+    }
+
+    private void removeInternal(long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) return;
+        for (String term : terms) {
+            Map<Long, Float> documents = postings.get(term);
+            documents.remove(id);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+                for (String deletion : deletionsOf(term)) {
+                    Set<String> variants = deletions.get(deletion);
+                    variants.remove(term);
+                    if (variants.isEmpty()) deletions.remove(deletion);
+                }
+            }
+        }
+    }
+
+    private static Set<String> deletionsOf(String term) {
+        Set<String> variants = new HashSet<>();
+        if (term.length() < MIN_FUZZY_LENGTH - 1) return variants;
+        for (int i = 0; i < term.length(); i++) {
+            variants.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return variants;
+    }
+
+    /**
+     * One insertion, deletion, substitution or adjacent transposition.
+     */
+    private static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) return false;
+        if (a.length() > b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+        int i = 0;
+        while (i < a.length() && a.charAt(i) == b.charAt(i)) i++;
+        if (i == a.length()) return true;
+        if (a.length() == b.length()) {
+            boolean transposed = i + 1 < a.length() && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.substring(i + 2).equals(b.substring(i + 2));
+            return transposed || a.substring(i + 1).equals(b.substring(i + 1));
+        }
+        return a.substring(i).equals(b.substring(i + 1));
+    }
+
+    private static void addAll(Set<String> target, Set<String> source) {
+        if (source != null) target.addAll(source);
+    }
+}
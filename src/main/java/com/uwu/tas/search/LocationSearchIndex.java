@@ -0,0 +1,108 @@
+package com.uwu.tas.search;
+
+import com.uwu.tas.enums.VisibilityStatus;
+import com.uwu.tas.repository.LocationAttractionRepository;
+import com.uwu.tas.repository.LocationRepository;
+import com.uwu.tas.repository.projection.SearchDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Text search over locations and attractions by name, province and description, served
+ * from memory. Rebuilt from the database at startup and kept current by the location
+ * service after each committed write.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationSearchIndex {
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float PROVINCE_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private final LocationRepository locationRepository;
+    private final LocationAttractionRepository locationAttractionRepository;
+
+    private final InvertedIndex locations = new InvertedIndex();
+    private final InvertedIndex attractions = new InvertedIndex();
+    private final Set<Long> hiddenLocations = ConcurrentHashMap.newKeySet();
+    private final Set<Long> hiddenAttractions = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        locations.clear();
+        hiddenLocations.clear();
+        for (SearchDocument document : locationRepository.findAllSearchDocuments()) {
+            putLocation(document.getId(), document.getName(), document.getDescription(), document.getProvinceName(), document.getVisibilityStatus());
+        }
+        attractions.clear();
+        hiddenAttractions.clear();
+        for (SearchDocument document : locationAttractionRepository.findAllSearchDocuments()) {
+            putAttraction(document.getId(), document.getName(), document.getDescription(), document.getProvinceName(), document.getVisibilityStatus());
+        }
+        System.out.println("INFO: LocationSearchIndex.rebuild: Indexed " + locations.size() + " locations and "
+                + attractions.size() + " attractions in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    public void putLocation(long id, String name, String description, String provinceName, VisibilityStatus status) {
+        locations.put(id, fields(name, description, provinceName));
+        setLocationStatus(id, status);
+    }
+
+    public void setLocationStatus(long id, VisibilityStatus status) {
+        setStatus(hiddenLocations, id, status);
+    }
+
+    public void putAttraction(long id, String name, String description, String provinceName, VisibilityStatus status) {
+        attractions.put(id, fields(name, description, provinceName));
+        setAttractionStatus(id, status);
+    }
+
+    public void setAttractionStatus(long id, VisibilityStatus status) {
+        setStatus(hiddenAttractions, id, status);
+    }
+
+    /**
+     * Returns matching location ids, best first.
+     */
+    public List<Long> searchLocations(String text, int limit, boolean visibleOnly) {
+        return search(locations, hiddenLocations, text, limit, visibleOnly);
+    }
+
+    /**
+     * Returns matching attraction ids, best first.
+     */
+    public List<Long> searchAttractions(String text, int limit, boolean visibleOnly) {
+        return search(attractions, hiddenAttractions, text, limit, visibleOnly);
+    }
+
+    public static boolean isSearchable(String text) {
+        return !InvertedIndex.tokenize(text).isEmpty();
+    }
+
+    private List<Long> search(InvertedIndex index, Set<Long> hidden, String text, int limit, boolean visibleOnly) {
+        if (!visibleOnly) return index.search(text, limit);
+        List<Long> ids = index.search(text, limit + hidden.size());
+        ids.removeAll(hidden);
+        return ids.size() > limit ? new ArrayList<>(ids.subList(0, limit)) : ids;
+    }
+
+    private void setStatus(Set<Long> hidden, long id, VisibilityStatus status) {
+        if (status == VisibilityStatus.VISIBLE) hidden.remove(id);
+        else hidden.add(id);
+    }
+
+    private Map<String, Float> fields(String name, String description, String provinceName) {
+        Map<String, Float> fields = new HashMap<>();
+        if (description != null) fields.merge(description, DESCRIPTION_WEIGHT, Math::max);
+        if (provinceName != null) fields.merge(provinceName, PROVINCE_WEIGHT, Math::max);
+        if (name != null) fields.merge(name, NAME_WEIGHT, Math::max);
+        return fields;
+    }
+}
@@ -0,0 +1,91 @@
+package com.uwu.tas.search;
+
+import com.uwu.tas.enums.PlaceType;
+import com.uwu.tas.repository.AccommodationRepository;
+import com.uwu.tas.repository.LocationAttractionRepository;
+import com.uwu.tas.repository.LocationRepository;
+import com.uwu.tas.repository.projection.GeoDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.uwu.tas.constant.TASConstants.Nearby.CELL_DEGREES;
+
+/**
+ * Positions of visible locations and attractions, and of accommodations, for radius
+ * queries and map clusters. Rebuilt from the database at startup and kept current by the
+ * services after each committed write. Attractions are placed at the position of their
+ * location.
+ */
+@Component
+@RequiredArgsConstructor
+public class NearbyIndex {
+
+    private final LocationRepository locationRepository;
+    private final LocationAttractionRepository locationAttractionRepository;
+    private final AccommodationRepository accommodationRepository;
+
+    private final Map<PlaceType, GeoGridIndex> indexes = new EnumMap<>(PlaceType.class);
+    private final Map<PlaceType, GridClusterIndex> clusterIndexes = new EnumMap<>(PlaceType.class);
+
+    {
+        for (PlaceType type : PlaceType.values()) {
+            indexes.put(type, new GeoGridIndex(CELL_DEGREES));
+            clusterIndexes.put(type, new GridClusterIndex());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        load(PlaceType.LOCATION, locationRepository.findVisibleGeoDocuments());
+        load(PlaceType.LOCATION_ATTRACTION, locationAttractionRepository.findVisibleGeoDocuments());
+        load(PlaceType.ACCOMMODATION, accommodationRepository.findAllGeoDocuments());
+        System.out.println("INFO: NearbyIndex.rebuild: Indexed " + indexes.get(PlaceType.LOCATION).size() + " locations, "
+                + indexes.get(PlaceType.LOCATION_ATTRACTION).size() + " attractions and "
+                + indexes.get(PlaceType.ACCOMMODATION).size() + " accommodations in "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    public void put(PlaceType type, long id, String name, double latitude, double longitude) {
+        indexes.get(type).put(id, name, latitude, longitude);
+        clusterIndexes.get(type).put(id, latitude, longitude);
+    }
+
+    public void remove(PlaceType type, long id) {
+        indexes.get(type).remove(id);
+        clusterIndexes.get(type).remove(id);
+    }
+
+    /**
+     * Indexed position of a place, or null when it is not indexed (hidden or unknown).
+     */
+    public GeoGridIndex.Point get(PlaceType type, long id) {
+        return indexes.get(type).get(id);
+    }
+
+    public List<GeoGridIndex.Hit> within(PlaceType type, double latitude, double longitude, double radiusKm, int limit) {
+        return indexes.get(type).within(latitude, longitude, radiusKm, limit);
+    }
+
+    public List<GridClusterIndex.Cluster> clusters(PlaceType type, double minLatitude, double minLongitude,
+                                                   double maxLatitude, double maxLongitude, int zoom) {
+        return clusterIndexes.get(type).clusters(minLatitude, minLongitude, maxLatitude, maxLongitude, zoom);
+    }
+
+    private void load(PlaceType type, List<GeoDocument> documents) {
+        GeoGridIndex index = indexes.get(type);
+        GridClusterIndex clusterIndex = clusterIndexes.get(type);
+        index.clear();
+        clusterIndex.clear();
+        for (GeoDocument document : documents) {
+            index.put(document.getId(), document.getName(), document.getLatitude(), document.getLongitude());
+            clusterIndex.put(document.getId(), document.getLatitude(), document.getLongitude());
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.uwu.tas.search;
+
+import com.uwu.tas.enums.RoomFacet;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread safe facet index over rooms. Every room gets a small ordinal and every facet value
+ * a bitmap of the ordinals of the rooms that have it, so a filter is an OR of the selected
+ * values of each facet ANDed across facets, and a facet count is the cardinality of one
+ * more AND. Accommodation level facets (type and flags) are applied to all rooms of the
+ * accommodation. Ordinals of removed rooms are reused.
+ */
+public class RoomFacetIndex {
+
+    private static final RoomFacet[] ACCOMMODATION_FACETS = {
+            RoomFacet.ACCOMMODATION_TYPE, RoomFacet.PARKING, RoomFacet.SMOKING, RoomFacet.PETS};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<RoomFacet, Map<Long, BitSet>> bitmaps = new EnumMap<>(RoomFacet.class);
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Room> rooms = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<Long, Accommodation> accommodations = new HashMap<>();
+
+    public RoomFacetIndex() {
+        for (RoomFacet facet : RoomFacet.values()) {
+            bitmaps.put(facet, new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds a room or moves it to another accommodation or view.
+     */
+    public void putRoom(long roomId, Long accommodationId, Long viewId) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.computeIfAbsent(roomId, this::allocate);
+            Room room = rooms.get(ordinal);
+            if (room.accommodationId != null) {
+                Accommodation previous = accommodations.get(room.accommodationId);
+                if (previous != null) {
+                    previous.ordinals.clear(ordinal);
+                    setAccommodationBits(previous, ordinal, false);
+                }
+            }
+            if (room.viewId != null) clearBit(RoomFacet.VIEW, room.viewId, ordinal);
+
+            room.accommodationId = accommodationId;
+            room.viewId = viewId;
+            if (viewId != null) bit(RoomFacet.VIEW, viewId).set(ordinal);
+            if (accommodationId != null) {
+                Accommodation accommodation = accommodations.computeIfAbsent(accommodationId, id -> new Accommodation());
+                accommodation.ordinals.set(ordinal);
+                setAccommodationBits(accommodation, ordinal, true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeRoom(long roomId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(roomId);
+            if (ordinal == null) return;
+            for (Map<Long, BitSet> values : bitmaps.values()) {
+                for (BitSet bits : values.values()) {
+                    bits.clear(ordinal);
+                }
+            }
+            Room room = rooms.get(ordinal);
+            if (room.accommodationId != null && accommodations.containsKey(room.accommodationId)) {
+                accommodations.get(room.accommodationId).ordinals.clear(ordinal);
+            }
+            room.roomId = 0;
+            room.accommodationId = null;
+            room.viewId = null;
+            live.clear(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the type and flags of an accommodation, for its current and future rooms.
+     */
+    public void putAccommodation(long accommodationId, Long accommodationTypeId, boolean parking, boolean smoking, boolean pets) {
+        lock.writeLock().lock();
+        try {
+            Accommodation accommodation = accommodations.computeIfAbsent(accommodationId, id -> new Accommodation());
+            for (int ordinal = accommodation.ordinals.nextSetBit(0); ordinal >= 0; ordinal = accommodation.ordinals.nextSetBit(ordinal + 1)) {
+                setAccommodationBits(accommodation, ordinal, false);
+            }
+            accommodation.values.put(RoomFacet.ACCOMMODATION_TYPE, accommodationTypeId);
+            accommodation.values.put(RoomFacet.PARKING, flag(parking));
+            accommodation.values.put(RoomFacet.SMOKING, flag(smoking));
+            accommodation.values.put(RoomFacet.PETS, flag(pets));
+            for (int ordinal = accommodation.ordinals.nextSetBit(0); ordinal >= 0; ordinal = accommodation.ordinals.nextSetBit(ordinal + 1)) {
+                setAccommodationBits(accommodation, ordinal, true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Links a room to a facility or bathroom facility. Unknown rooms are ignored.
+     */
+    public void add(RoomFacet facet, long valueId, long roomId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(roomId);
+            if (ordinal != null) bit(facet, valueId).set(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(RoomFacet facet, long valueId, long roomId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(roomId);
+            if (ordinal != null) clearBit(facet, valueId, ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Room ids matching the selection: any selected value within a facet, every facet
+     * with a selection. Null restricts nothing.
+     */
+    public Set<Long> filter(Map<RoomFacet, Set<Long>> selected, Collection<Long> roomIds) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = matching(selected, universe(roomIds), null);
+            Set<Long> result = new HashSet<>(matches.cardinality() * 2);
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                result.add(rooms.get(ordinal).roomId);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of rooms each facet value would match, given the selection on the other facets
+     * (values of one facet are alternatives, so a facet's own selection does not narrow
+     * its counts). Limited to {@code roomIds} when not null. Values matching no room are left
+     * out.
+     */
+    public Counts count(Map<RoomFacet, Set<Long>> selected, Collection<Long> roomIds) {
+        lock.readLock().lock();
+        try {
+            BitSet universe = universe(roomIds);
+            Map<RoomFacet, Map<Long, Integer>> counts = new EnumMap<>(RoomFacet.class);
+            for (RoomFacet facet : RoomFacet.values()) {
+                BitSet base = matching(selected, universe, facet);
+                Map<Long, Integer> facetCounts = new TreeMap<>();
+                for (Map.Entry<Long, BitSet> value : bitmaps.get(facet).entrySet()) {
+                    BitSet bits = (BitSet) value.getValue().clone();
+                    bits.and(base);
+                    int cardinality = bits.cardinality();
+                    if (cardinality > 0) facetCounts.put(value.getKey(), cardinality);
+                }
+                counts.put(facet, facetCounts);
+            }
+            return new Counts(matching(selected, universe, null).cardinality(), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet universe(Collection<Long> roomIds) {
+        if (roomIds == null) return (BitSet) live.clone();
+        BitSet universe = new BitSet(rooms.size());
+        for (Long roomId : roomIds) {
+            Integer ordinal = ordinals.get(roomId);
+            if (ordinal != null) universe.set(ordinal);
+        }
+        return universe;
+    }
+
+    private BitSet matching(Map<RoomFacet, Set<Long>> selected, BitSet universe, RoomFacet except) {
+        BitSet result = (BitSet) universe.clone();
+        if (selected == null) return result;
+        for (Map.Entry<RoomFacet, Set<Long>> selection : selected.entrySet()) {
+            if (selection.getKey() == except || selection.getValue() == null || selection.getValue().isEmpty()) continue;
+            BitSet any = new BitSet(rooms.size());
+            Map<Long, BitSet> values = bitmaps.get(selection.getKey());
+            for (Long valueId : selection.getValue()) {
+                BitSet bits = values.get(valueId);
+                if (bits != null) any.or(bits);
+            }
+            result.and(any);
+        }
+        return result;
+    }
+
+    private int allocate(long roomId) {
+        int ordinal = live.nextClearBit(0);
+        if (ordinal == rooms.size()) rooms.add(new Room());
+        rooms.get(ordinal).roomId = roomId;
+        live.set(ordinal);
+        return ordinal;
+    }
+
+    private void setAccommodationBits(Accommodation accommodation, int ordinal, boolean value) {
+        for (RoomFacet facet : ACCOMMODATION_FACETS) {
+            Long valueId = accommodation.values.get(facet);
+            if (valueId == null) continue;
+            if (value) {
+                bit(facet, valueId).set(ordinal);
+            } else {
+                clearBit(facet, valueId, ordinal);
+            }
+        }
+    }
+
+    private BitSet bit(RoomFacet facet, long valueId) {
+        return bitmaps.get(facet).computeIfAbsent(valueId, id -> new BitSet());
+    }
+
+    private void clearBit(RoomFacet facet, long valueId, int ordinal) {
+        Map<Long, BitSet> values = bitmaps.get(facet);
+        BitSet bits = values.get(valueId);
+        if (bits == null) return;
+        bits.clear(ordinal);
+        if (bits.isEmpty()) values.remove(valueId);
+    }
+
+    private static long flag(boolean value) {
+        return value ? 1 : 0;
+    }
+
+    private static final class Room {
+
+        private long roomId;
+        private Long accommodationId;
+        private Long viewId;
+    }
+
+    private static final class Accommodation {
+
+        private final BitSet ordinals = new BitSet();
+        private final Map<RoomFacet, Long> values = new EnumMap<>(RoomFacet.class);
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Counts {
+
+        /**
+         * Rooms matching the whole selection.
+         */
+        private final int matching;
+        private final Map<RoomFacet, Map<Long, Integer>> values;
+    }
+}
@@ -0,0 +1,78 @@
+package com.uwu.tas.search;
+
+import com.uwu.tas.entity.Accommodation;
+import com.uwu.tas.entity.Room;
+import com.uwu.tas.entity.RoomBathroomFacilityDetail;
+import com.uwu.tas.entity.RoomFacilityDetail;
+import com.uwu.tas.enums.RoomFacet;
+import com.uwu.tas.util.AfterCommitEntityListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.function.Consumer;
+
+/**
+ * Entity listener that applies writes of rooms, accommodations and room facility rows to
+ * {@link RoomFacets} once they commit, whichever code path made them. Only ids of the
+ * associations are read, which does not load them.
+ */
+public class RoomFacetListener extends AfterCommitEntityListener<RoomFacets> {
+
+    public RoomFacetListener(ObjectProvider<RoomFacets> roomFacets) {
+        super(roomFacets);
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Object entity) {
+        if (entity instanceof Room) {
+            Room room = (Room) entity;
+            long roomId = room.getId();
+            Long accommodationId = room.getAccommodation() == null ? null : room.getAccommodation().getId();
+            Long viewId = room.getView() == null ? null : room.getView().getId();
+            apply(index -> index.putRoom(roomId, accommodationId, viewId));
+        } else if (entity instanceof Accommodation) {
+            Accommodation accommodation = (Accommodation) entity;
+            long accommodationId = accommodation.getId();
+            Long accommodationTypeId = accommodation.getAccommodationType() == null ? null : accommodation.getAccommodationType().getId();
+            boolean parking = accommodation.isParking();
+            boolean smoking = accommodation.isSmoking();
+            boolean pets = accommodation.isPets();
+            apply(index -> index.putAccommodation(accommodationId, accommodationTypeId, parking, smoking, pets));
+        } else if (entity instanceof RoomFacilityDetail) {
+            RoomFacilityDetail detail = (RoomFacilityDetail) entity;
+            long roomId = detail.getRoom().getId();
+            long facilityId = detail.getFacility().getId();
+            apply(index -> index.add(RoomFacet.FACILITY, facilityId, roomId));
+        } else if (entity instanceof RoomBathroomFacilityDetail) {
+            RoomBathroomFacilityDetail detail = (RoomBathroomFacilityDetail) entity;
+            long roomId = detail.getRoom().getId();
+            long bathroomFacilityId = detail.getBathroomFacility().getId();
+            apply(index -> index.add(RoomFacet.BATHROOM_FACILITY, bathroomFacilityId, roomId));
+        }
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof Room) {
+            long roomId = ((Room) entity).getId();
+            apply(index -> index.removeRoom(roomId));
+        } else if (entity instanceof RoomFacilityDetail) {
+            RoomFacilityDetail detail = (RoomFacilityDetail) entity;
+            long roomId = detail.getRoom().getId();
+            long facilityId = detail.getFacility().getId();
+            apply(index -> index.remove(RoomFacet.FACILITY, facilityId, roomId));
+        } else if (entity instanceof RoomBathroomFacilityDetail) {
+            RoomBathroomFacilityDetail detail = (RoomBathroomFacilityDetail) entity;
+            long roomId = detail.getRoom().getId();
+            long bathroomFacilityId = detail.getBathroomFacility().getId();
+            apply(index -> index.remove(RoomFacet.BATHROOM_FACILITY, bathroomFacilityId, roomId));
+        }
+    }
+
+    private void apply(Consumer<RoomFacetIndex> update) {
+        afterCommit(facets -> update.accept(facets.get()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.uwu.tas.search;
+
+import com.uwu.tas.enums.RoomFacet;
+import com.uwu.tas.repository.AccommodationRepository;
+import com.uwu.tas.repository.RoomBathroomFacilityDetailRepository;
+import com.uwu.tas.repository.RoomFacilityDetailRepository;
+import com.uwu.tas.repository.RoomRepository;
+import com.uwu.tas.repository.projection.AccommodationFacetDocument;
+import com.uwu.tas.repository.projection.RoomFacetDocument;
+import com.uwu.tas.repository.projection.RoomFacetLink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Facet bitmaps of all rooms. Loaded from the database at startup, then kept current by
+ * {@link RoomFacetListener} as rooms, accommodations and facility rows are written.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomFacets {
+
+    private final RoomRepository roomRepository;
+    private final AccommodationRepository accommodationRepository;
+    private final RoomFacilityDetailRepository roomFacilityDetailRepository;
+    private final RoomBathroomFacilityDetailRepository roomBathroomFacilityDetailRepository;
+
+    private volatile RoomFacetIndex index = new RoomFacetIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        RoomFacetIndex rebuilt = new RoomFacetIndex();
+        for (AccommodationFacetDocument document : accommodationRepository.findAllFacetDocuments()) {
+            rebuilt.putAccommodation(document.getAccommodationId(), document.getAccommodationTypeId(),
+                    document.isParking(), document.isSmoking(), document.isPets());
+        }
+        for (RoomFacetDocument document : roomRepository.findAllFacetDocuments()) {
+            rebuilt.putRoom(document.getRoomId(), document.getAccommodationId(), document.getViewId());
+        }
+        for (RoomFacetLink link : roomFacilityDetailRepository.findAllFacetLinks()) {
+            rebuilt.add(RoomFacet.FACILITY, link.getValueId(), link.getRoomId());
+        }
+        for (RoomFacetLink link : roomBathroomFacilityDetailRepository.findAllFacetLinks()) {
+            rebuilt.add(RoomFacet.BATHROOM_FACILITY, link.getValueId(), link.getRoomId());
+        }
+        index = rebuilt;
+        System.out.println("INFO: RoomFacets.rebuild: Indexed " + rebuilt.size() + " rooms in "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    public RoomFacetIndex get() {
+        return index;
+    }
+}
@@ -0,0 +1,14 @@
+package com.uwu.tas.service;
+
+import com.uwu.tas.dto.CursorPageDto;
+import com.uwu.tas.dto.accommodation.AccommodationSearchDto;
+import com.uwu.tas.dto.accommodation.AccommodationSearchResultDto;
+import com.uwu.tas.dto.accommodation.RoomFacetCountsDto;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface AccommodationSearchService {
+    CursorPageDto<AccommodationSearchResultDto> searchAccommodations(AccommodationSearchDto accommodationSearchDto);
+
+    RoomFacetCountsDto getRoomFacetCounts(AccommodationSearchDto accommodationSearchDto);
+}
@@ -2,6 +2,7 @@ package com.uwu.tas.service;
 
 import com.uwu.tas.dto.activity.ActivityDto;
 import com.uwu.tas.enums.VisibilityStatus;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -10,9 +11,13 @@ import java.util.List;
 public interface ActivityService {
     void saveActivity(ActivityDto activityDto);
 
+    void saveActivity(ActivityDto activityDto, InputStreamSource image);
+
     void updateActivity(ActivityDto activityDto);
 
+    void updateActivity(ActivityDto activityDto, InputStreamSource image);
+
     void changeActivityStatus(long id, VisibilityStatus status);
 
-    List<ActivityDto> getAllActivities();
+    List<ActivityDto> getAllActivities(Integer imageWidth);
 }
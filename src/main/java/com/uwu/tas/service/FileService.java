@@ -1,13 +1,33 @@
 package com.uwu.tas.service;
 
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Set;
+
 @Service
 public interface FileService {
-    Resource getActivityImage(long id);
+    String saveImage(byte[] image);
+
+    String saveImage(InputStream image);
+
+    String saveImage(InputStreamSource image);
+
+    String getActivityImageKey(long id);
+
+    String getLocationImageKey(long id);
+
+    String getLocationAttractionImageKey(long id);
+
+    String resolveImageKey(String key, Integer width);
 
-    Resource getLocationImage(long id);
+    Resource getImage(String key);
 
-    Resource getLocationAttractionImage(long id);
+    /**
+     * The given keys that are stored, checked with one store lookup rather than one per key.
+     */
+    Set<String> findExistingImages(Collection<String> keys);
 }
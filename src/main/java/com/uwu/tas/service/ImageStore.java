@@ -0,0 +1,38 @@
+package com.uwu.tas.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Content addressed storage for image bytes. Keys are the SHA-256 of the content.
+ */
+public interface ImageStore {
+    boolean exists(String key);
+
+    void save(String key, byte[] image);
+
+    /**
+     * Stores the content read from the stream and returns its key.
+     */
+    String save(InputStream image) throws IOException;
+
+    Resource load(String key);
+
+    void delete(String key);
+
+    List<String> findAllKeys();
+
+    /**
+     * The given keys that are stored.
+     */
+    default Set<String> findExisting(Collection<String> keys) {
+        return keys.stream().filter(this::exists).collect(Collectors.toCollection(HashSet::new));
+    }
+}
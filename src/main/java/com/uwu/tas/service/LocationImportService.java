@@ -0,0 +1,14 @@
+package com.uwu.tas.service;
+
+import com.uwu.tas.dto.location.LocationImportReportDto;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.List;
+
+@Service
+public interface LocationImportService {
+    LocationImportReportDto importLocations(InputStream in, boolean csv);
+
+    List<LocationImportReportDto> getImports();
+}
@@ -1,8 +1,10 @@
 package com.uwu.tas.service;
 
+import com.uwu.tas.dto.CursorPageDto;
 import com.uwu.tas.dto.location.LocationAttractionDto;
 import com.uwu.tas.dto.location.LocationDto;
 import com.uwu.tas.enums.VisibilityStatus;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,22 +15,28 @@ public interface LocationService {
     @Transactional
     void createLocation(LocationDto locationDto);
 
+    @Transactional
+    void createLocation(LocationDto locationDto, List<? extends InputStreamSource> pictures);
+
     void updateLocation(LocationDto locationDto);
 
     void changeLocationStatus(long id);
 
-    List<LocationDto> getAllLocations(String text);
+    CursorPageDto<LocationDto> getAllLocations(String text, String cursor, Integer size);
 
     LocationDto getLocationById(long id);
 
     @Transactional
     void createLocationAttraction(LocationAttractionDto locationAttractionDto);
 
+    @Transactional
+    void createLocationAttraction(LocationAttractionDto locationAttractionDto, List<? extends InputStreamSource> pictures);
+
     void updateLocationAttraction(LocationAttractionDto locationAttractionDto);
 
     void changeLocationAttractionStatus(long id, VisibilityStatus status);
 
-    List<LocationAttractionDto> getAllLocationAttractions(String text);
+    CursorPageDto<LocationAttractionDto> getAllLocationAttractions(String text, String cursor, Integer size, Integer imageWidth);
 
     LocationAttractionDto getLocationAttractionById(long id);
 }
@@ -0,0 +1,18 @@
+package com.uwu.tas.service;
+
+import com.uwu.tas.dto.map.MapClusterDto;
+import com.uwu.tas.dto.nearby.NearbyPlaceDto;
+import com.uwu.tas.enums.PlaceType;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+
+@Service
+public interface NearbyService {
+
+    List<NearbyPlaceDto> getNearbyPlaces(double latitude, double longitude, Double radius, Set<PlaceType> types, Integer size);
+
+    List<MapClusterDto> getClusters(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                    int zoom, Set<PlaceType> types);
+}
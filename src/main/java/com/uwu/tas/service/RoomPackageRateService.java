@@ -0,0 +1,19 @@
+package com.uwu.tas.service;
+
+import com.uwu.tas.dto.accommodation.RoomPackageRateDto;
+import com.uwu.tas.pricing.RateQuote;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public interface RoomPackageRateService {
+    RoomPackageRateDto saveRate(RoomPackageRateDto roomPackageRateDto);
+
+    void deleteRate(long id);
+
+    List<RoomPackageRateDto> getRates(long roomPackageId);
+
+    RateQuote getQuote(long roomPackageId, LocalDate checkIn, LocalDate checkOut);
+}
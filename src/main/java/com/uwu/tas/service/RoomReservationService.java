@@ -0,0 +1,15 @@
+package com.uwu.tas.service;
+
+import com.uwu.tas.dto.reservation.RoomReservationDto;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Service
+public interface RoomReservationService {
+    RoomReservationDto reserveRoom(RoomReservationDto roomReservationDto);
+
+    void cancelRoomReservation(long id);
+
+    boolean isRoomAvailable(long roomId, LocalDate checkInDate, LocalDate checkOutDate);
+}
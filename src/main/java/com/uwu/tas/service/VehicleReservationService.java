@@ -0,0 +1,20 @@
+package com.uwu.tas.service;
+
+import com.uwu.tas.dto.reservation.AvailableVehicleDto;
+import com.uwu.tas.dto.reservation.VehicleReservationDto;
+import com.uwu.tas.dto.reservation.VehicleSearchDto;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public interface VehicleReservationService {
+    List<AvailableVehicleDto> getAvailableVehicles(VehicleSearchDto vehicleSearchDto);
+
+    VehicleReservationDto reserveVehicle(VehicleReservationDto vehicleReservationDto);
+
+    void cancelVehicleReservation(long id);
+
+    boolean isVehicleAvailable(long vehicleId, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,162 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.dto.CursorPageDto;
+import com.uwu.tas.dto.accommodation.AccommodationSearchDto;
+import com.uwu.tas.dto.accommodation.AccommodationSearchResultDto;
+import com.uwu.tas.dto.accommodation.RoomFacetCountsDto;
+import com.uwu.tas.enums.PlaceType;
+import com.uwu.tas.enums.RoomFacet;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.inventory.RoomAvailabilityCalendar;
+import com.uwu.tas.pricing.RoomRateCalendar;
+import com.uwu.tas.search.AccommodationOfferIndex;
+import com.uwu.tas.search.AccommodationSearchIndex;
+import com.uwu.tas.search.GeoGridIndex;
+import com.uwu.tas.search.NearbyIndex;
+import com.uwu.tas.search.RoomFacetIndex;
+import com.uwu.tas.search.RoomFacets;
+import com.uwu.tas.service.AccommodationSearchService;
+import com.uwu.tas.util.CursorCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.stream.Collectors;
+
+import static com.uwu.tas.constant.TASConstants.Nearby.DEFAULT_RADIUS_KM;
+import static com.uwu.tas.constant.TASConstants.Nearby.MAX_RADIUS_KM;
+import static com.uwu.tas.constant.TASConstants.Page.DEFAULT_SIZE;
+import static com.uwu.tas.constant.TASConstants.Page.MAX_SIZE;
+import static com.uwu.tas.constant.TASConstants.Reservation.MAX_NIGHTS;
+
+@Service
+@RequiredArgsConstructor
+public class AccommodationSearchServiceImpl implements AccommodationSearchService {
+
+    private final AccommodationSearchIndex accommodationSearchIndex;
+    private final NearbyIndex nearbyIndex;
+    private final RoomAvailabilityCalendar roomAvailabilityCalendar;
+    private final RoomFacets roomFacets;
+    private final RoomRateCalendar roomRateCalendar;
+
+    @Override
+    public CursorPageDto<AccommodationSearchResultDto> searchAccommodations(AccommodationSearchDto search) {
+        GeoGridIndex.Point location = location(search.getLocationId());
+        double radiusKm = radiusKm(search.getRadius());
+        int people = search.getPeople() == null ? 1 : search.getPeople();
+        if (people < 1) throw new CustomServiceException(400, "Number of people must be at least 1");
+        int pageSize = pageSize(search.getSize());
+        int offset = search.getCursor() == null ? 0 : CursorCodec.decodeOffset(search.getCursor());
+
+        LocalDate checkIn = search.getCheckIn();
+        LocalDate checkOut = search.getCheckOut();
+        long nights = 1;
+        LongPredicate roomAvailable = roomId -> true;
+        LongToDoubleFunction nightlyPrice = null;
+        if (checkIn != null || checkOut != null) {
+            if (checkIn == null || checkOut == null) throw new CustomServiceException(400, "Both check in and check out dates are required");
+            nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+            if (nights < 1 || nights > MAX_NIGHTS) {
+                throw new CustomServiceException(400, "A stay must be between 1 and " + MAX_NIGHTS + " nights");
+            }
+            roomAvailable = roomId -> roomAvailabilityCalendar.isAvailable(roomId, checkIn, checkOut);
+            nightlyPrice = roomPackageId -> roomRateCalendar.quote(roomPackageId, checkIn, checkOut).getNightlyPrice();
+        }
+        Map<RoomFacet, Set<Long>> selected = selectedFacets(search, false);
+        if (!selected.isEmpty()) {
+            Set<Long> roomIds = roomFacets.get().filter(selected, null);
+            roomAvailable = roomAvailable.and(roomIds::contains);
+        }
+
+        AccommodationOfferIndex.Criteria criteria = new AccommodationOfferIndex.Criteria();
+        criteria.setLatitude(location.getLatitude());
+        criteria.setLongitude(location.getLongitude());
+        criteria.setRadiusKm(radiusKm);
+        criteria.setPeople(people);
+        criteria.setMinPrice(search.getMinPrice());
+        criteria.setMaxPrice(search.getMaxPrice());
+        criteria.setParking(search.getParking());
+        criteria.setSmoking(search.getSmoking());
+        criteria.setPets(search.getPets());
+        criteria.setSort(search.getSort());
+        List<AccommodationOfferIndex.Result> results = accommodationSearchIndex.get().search(criteria, roomAvailable, nightlyPrice);
+
+        String nextCursor = results.size() > offset + pageSize ? CursorCodec.encode(String.valueOf(offset + pageSize)) : null;
+        long stayNights = nights;
+        List<AccommodationSearchResultDto> page = results.subList(Math.min(offset, results.size()), Math.min(offset + pageSize, results.size()))
+                .stream().map(result -> {
+                    AccommodationOfferIndex.Offer offer = result.getOffer();
+                    return new AccommodationSearchResultDto(result.getAccommodationId(), result.getAccommodationName(),
+                            result.getLatitude(), result.getLongitude(), result.getRating(), result.getDistance(),
+                            offer.getRoomId(), offer.getRoomName(), offer.getRoomPackageId(), offer.getNoOfPeople(),
+                            result.getPrice(), result.getPrice() * stayNights);
+                }).collect(Collectors.toList());
+        return new CursorPageDto<>(page, nextCursor);
+    }
+
+    @Override
+    public RoomFacetCountsDto getRoomFacetCounts(AccommodationSearchDto search) {
+        Set<Long> roomIds = null;
+        if (search.getLocationId() > 0) {
+            GeoGridIndex.Point location = location(search.getLocationId());
+            roomIds = accommodationSearchIndex.get().roomIdsWithin(location.getLatitude(), location.getLongitude(),
+                    radiusKm(search.getRadius()));
+        }
+        RoomFacetIndex.Counts counts = roomFacets.get().count(selectedFacets(search, true), roomIds);
+        return new RoomFacetCountsDto(counts.getMatching(), counts.getValues());
+    }
+
+    private GeoGridIndex.Point location(long locationId) {
+        GeoGridIndex.Point location = nearbyIndex.get(PlaceType.LOCATION, locationId);
+        if (location == null) throw new CustomServiceException(404, "Location not found");
+        return location;
+    }
+
+    private double radiusKm(Double radius) {
+        double radiusKm = radius == null ? DEFAULT_RADIUS_KM : radius;
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new CustomServiceException(400, "Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+        return radiusKm;
+    }
+
+    /**
+     * Facet selection of a search. The accommodation flags are matched by the offer index
+     * during a search and only need to be part of the selection when counting.
+     */
+    private Map<RoomFacet, Set<Long>> selectedFacets(AccommodationSearchDto search, boolean withFlags) {
+        Map<RoomFacet, Set<Long>> selected = new EnumMap<>(RoomFacet.class);
+        select(selected, RoomFacet.FACILITY, search.getFacilities());
+        select(selected, RoomFacet.BATHROOM_FACILITY, search.getBathroomFacilities());
+        select(selected, RoomFacet.VIEW, search.getViews());
+        select(selected, RoomFacet.ACCOMMODATION_TYPE, search.getAccommodationTypes());
+        if (withFlags) {
+            select(selected, RoomFacet.PARKING, flag(search.getParking()));
+            select(selected, RoomFacet.SMOKING, flag(search.getSmoking()));
+            select(selected, RoomFacet.PETS, flag(search.getPets()));
+        }
+        return selected;
+    }
+
+    private static void select(Map<RoomFacet, Set<Long>> selected, RoomFacet facet, Set<Long> values) {
+        if (values != null && !values.isEmpty()) selected.put(facet, values);
+    }
+
+    private static Set<Long> flag(Boolean value) {
+        return value == null ? null : Collections.singleton(value ? 1L : 0L);
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) return DEFAULT_SIZE;
+        if (size < 1 || size > MAX_SIZE) throw new CustomServiceException(400, "Page size must be between 1 and " + MAX_SIZE);
+        return size;
+    }
+}
@@ -1,5 +1,7 @@
 package com.uwu.tas.service.impl;
 
+import com.uwu.tas.cache.LocationDetailCache;
+import com.uwu.tas.cache.ReferenceDataCache;
 import com.uwu.tas.dto.activity.ActivityDto;
 import com.uwu.tas.entity.Activity;
 import com.uwu.tas.entity.ActivityLocationDetail;
@@ -9,8 +11,11 @@ import com.uwu.tas.exception.CustomServiceException;
 import com.uwu.tas.repository.ActivityLocationDetailRepository;
 import com.uwu.tas.repository.ActivityRepository;
 import com.uwu.tas.service.ActivityService;
+import com.uwu.tas.service.FileService;
 import com.uwu.tas.util.Base64Handler;
+import com.uwu.tas.util.ImageUrlBuilder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -25,29 +30,50 @@ public class ActivityServiceImpl implements ActivityService {
     private final ActivityRepository activityRepository;
     private final ActivityLocationDetailRepository activityLocationDetailRepository;
 
+    private final ReferenceDataCache referenceDataCache;
+    private final LocationDetailCache locationDetailCache;
+    private final FileService fileService;
     private final Base64Handler base64Handler;
 
     @Override
     public void saveActivity(ActivityDto activityDto) {
+        saveActivity(activityDto, () -> base64Handler.getInputStreamFromBase64(activityDto.getImage()));
+    }
+
+    @Override
+    public void saveActivity(ActivityDto activityDto, InputStreamSource image) {
         if (activityRepository.existsByActivityName(activityDto.getActivityName())) {
             throw new CustomServiceException(409, "Activity name already exists");
         }
         Activity activity = new Activity();
         activity.setActivityName(activityDto.getActivityName());
-        activity.setImage(base64Handler.getByteArrayFromBase64(activityDto.getImage()));
+        activity.setImageKey(fileService.saveImage(image));
         activity.setVisibilityStatus(VisibilityStatus.VISIBLE);
         activityRepository.save(activity);
+        referenceDataCache.evict(ReferenceDataCache.ReferenceData.ACTIVITIES);
+        locationDetailCache.evictAll();
     }
 
     @Override
     public void updateActivity(ActivityDto activityDto) {
+        InputStreamSource image = null;
+        if (!activityDto.getImage().startsWith("http")) {
+            image = () -> base64Handler.getInputStreamFromBase64(activityDto.getImage());
+        }
+        updateActivity(activityDto, image);
+    }
+
+    @Override
+    public void updateActivity(ActivityDto activityDto, InputStreamSource image) {
         Activity activity = activityRepository.findById(activityDto.getId()).orElseThrow(() -> new CustomServiceException(404, "Activity not found"));
         activity.setActivityName(activityDto.getActivityName());
-        if (!activityDto.getImage().startsWith("http")) {
-            activity.setImage(base64Handler.getByteArrayFromBase64(activityDto.getImage()));
+        if (image != null) {
+            activity.setImageKey(fileService.saveImage(image));
         }
         activity.setVisibilityStatus(activityDto.getStatus());
         activityRepository.save(activity);
+        referenceDataCache.evict(ReferenceDataCache.ReferenceData.ACTIVITIES);
+        locationDetailCache.evictAll();
     }
 
     @Override
@@ -55,14 +81,16 @@ public class ActivityServiceImpl implements ActivityService {
         Activity activity = activityRepository.findById(id).orElseThrow(() -> new CustomServiceException(404, "Activity not found"));
         activity.setVisibilityStatus(status);
         activityRepository.save(activity);
+        referenceDataCache.evict(ReferenceDataCache.ReferenceData.ACTIVITIES);
+        locationDetailCache.evictAll();
     }
 
     @Override
-    public List<ActivityDto> getAllActivities() {
-        return activityRepository.findAll().stream().map(activity -> new ActivityDto(
+    public List<ActivityDto> getAllActivities(Integer imageWidth) {
+        return referenceDataCache.getActivities().stream().map(activity -> new ActivityDto(
                 activity.getId(),
                 activity.getActivityName(),
-                ACTIVITY_IMAGE_BASE_URL + "/" + activity.getId(),
+                ImageUrlBuilder.build(ACTIVITY_IMAGE_BASE_URL, activity.getId(), activity.getImageKey(), imageWidth),
                 activity.getVisibilityStatus(),
                 false
         )).collect(Collectors.toList());
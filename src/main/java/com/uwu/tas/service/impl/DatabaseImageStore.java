@@ -0,0 +1,68 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.entity.ImageContent;
+import com.uwu.tas.repository.ImageContentRepository;
+import com.uwu.tas.service.ImageStore;
+import com.uwu.tas.util.ContentHash;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class DatabaseImageStore implements ImageStore {
+
+    private final ImageContentRepository imageContentRepository;
+
+    @Override
+    public boolean exists(String key) {
+        return imageContentRepository.existsById(key);
+    }
+
+    @Override
+    public void save(String key, byte[] image) {
+        if (!exists(key)) {
+            imageContentRepository.save(new ImageContent(key, image, image.length, null));
+        }
+    }
+
+    @Override
+    public String save(InputStream image) throws IOException {
+        byte[] content = StreamUtils.copyToByteArray(image);
+        String key = ContentHash.of(content);
+        save(key, content);
+        return key;
+    }
+
+    @Override
+    public Resource load(String key) {
+        Optional<ImageContent> optional = imageContentRepository.findById(key);
+        return optional.map(imageContent -> new ByteArrayResource(imageContent.getData())).orElse(null);
+    }
+
+    @Override
+    public void delete(String key) {
+        if (exists(key)) imageContentRepository.deleteById(key);
+    }
+
+    @Override
+    public List<String> findAllKeys() {
+        return imageContentRepository.findAllIds();
+    }
+
+    @Override
+    public Set<String> findExisting(Collection<String> keys) {
+        if (keys.isEmpty()) return new HashSet<>();
+        return new HashSet<>(imageContentRepository.findExistingIds(keys));
+    }
+}
@@ -1,18 +1,23 @@
 package com.uwu.tas.service.impl;
 
-import com.uwu.tas.entity.Activity;
-import com.uwu.tas.entity.LocationAttractionPicture;
-import com.uwu.tas.entity.LocationPicture;
+import com.uwu.tas.exception.CustomServiceException;
 import com.uwu.tas.repository.ActivityRepository;
 import com.uwu.tas.repository.LocationAttractionPictureRepository;
 import com.uwu.tas.repository.LocationPictureRepository;
 import com.uwu.tas.service.FileService;
+import com.uwu.tas.service.ImageStore;
+import com.uwu.tas.util.ContentHash;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,34 +26,81 @@ public class FileServiceImpl implements FileService {
     private final ActivityRepository activityRepository;
     private final LocationPictureRepository locationPictureRepository;
     private final LocationAttractionPictureRepository locationAttractionPictureRepository;
+    private final ImageStore imageStore;
+    private final DatabaseImageStore databaseImageStore;
+    private final ImageDerivativeGenerator imageDerivativeGenerator;
 
     @Override
-    public Resource getActivityImage(long id) {
-        Optional<Activity> optional = activityRepository.findById(id);
-        if (optional.isPresent()) {
-            byte[] image = optional.get().getImage();
-            return new ByteArrayResource(image);
+    public String saveImage(byte[] image) {
+        String key = ContentHash.of(image);
+        imageStore.save(key, image);
+        imageDerivativeGenerator.generate(key);
+        return key;
+    }
+
+    @Override
+    public String saveImage(InputStream image) {
+        try (InputStream in = image) {
+            String key = imageStore.save(in);
+            imageDerivativeGenerator.generate(key);
+            return key;
+        } catch (IOException e) {
+            throw new CustomServiceException("Failed to store image", e);
         }
-        return null;
     }
 
     @Override
-    public Resource getLocationImage(long id) {
-        Optional<LocationPicture> optional = locationPictureRepository.findById(id);
-        if (optional.isPresent()) {
-            byte[] image = optional.get().getImage();
-            return new ByteArrayResource(image);
+    public String saveImage(InputStreamSource image) {
+        try {
+            return saveImage(image.getInputStream());
+        } catch (IOException e) {
+            throw new CustomServiceException("Failed to read image", e);
         }
-        return null;
     }
 
     @Override
-    public Resource getLocationAttractionImage(long id) {
-        Optional<LocationAttractionPicture> optional = locationAttractionPictureRepository.findById(id);
-        if (optional.isPresent()) {
-            byte[] image = optional.get().getImage();
-            return new ByteArrayResource(image);
+    public String getActivityImageKey(long id) {
+        return activityRepository.findImageKeyById(id).orElse(null);
+    }
+
+    @Override
+    public String getLocationImageKey(long id) {
+        return locationPictureRepository.findImageKeyById(id).orElse(null);
+    }
+
+    @Override
+    public String getLocationAttractionImageKey(long id) {
+        return locationAttractionPictureRepository.findImageKeyById(id).orElse(null);
+    }
+
+    @Override
+    public Set<String> findExistingImages(Collection<String> keys) {
+        Set<String> existing = imageStore.findExisting(keys);
+        if (imageStore != databaseImageStore && existing.size() < keys.size()) {
+            List<String> missing = keys.stream().filter(key -> !existing.contains(key)).collect(Collectors.toList());
+            existing.addAll(databaseImageStore.findExisting(missing));
+        }
+        return existing;
+    }
+
+    @Override
+    public String resolveImageKey(String key, Integer width) {
+        int selectedWidth = ImageDerivativeGenerator.selectWidth(width);
+        if (key == null || selectedWidth < 0) return key;
+        String derivativeKey = ImageDerivativeGenerator.derivativeKey(key, selectedWidth);
+        if (imageStore.exists(derivativeKey)) return derivativeKey;
+        imageDerivativeGenerator.generate(key);
+        return key;
+    }
+
+    @Override
+    public Resource getImage(String key) {
+        if (key == null) return null;
+        Resource image = imageStore.load(key);
+        if (image == null && imageStore != databaseImageStore) {
+            // not yet moved out of the database by ImageMigrator
+            image = databaseImageStore.load(key);
         }
-        return null;
+        return image;
     }
 }
@@ -0,0 +1,125 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.service.ImageStore;
+import com.uwu.tas.util.ContentHash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores images on local disk as {@code <root>/ab/cd/abcd...}, sharded by the first
+ * two bytes of the content hash so no directory grows past a few thousand entries.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "tas.image.store", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemImageStore implements ImageStore {
+
+    private final Path root;
+    private final Path temp;
+
+    public FileSystemImageStore(@Value("${tas.image.store.path}") String root) {
+        this.root = Paths.get(root).toAbsolutePath();
+        this.temp = this.root.resolve("tmp");
+        try {
+            Files.createDirectories(temp);
+        } catch (IOException e) {
+            throw new IllegalStateException("Image store directory is not writable: " + this.root, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(path(key));
+    }
+
+    @Override
+    public void save(String key, byte[] image) {
+        Path target = path(key);
+        if (Files.exists(target)) return;
+        try {
+            Files.createDirectories(target.getParent());
+            Path file = Files.createTempFile(temp, key, ".part");
+            try {
+                Files.write(file, image);
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // written concurrently by another upload of the same content
+        } catch (IOException e) {
+            throw new CustomServiceException("Failed to store image", e);
+        }
+    }
+
+    @Override
+    public String save(InputStream image) throws IOException {
+        Path file = Files.createTempFile(temp, "upload", ".part");
+        try {
+            MessageDigest digest = ContentHash.newDigest();
+            try (InputStream in = new DigestInputStream(image, digest)) {
+                Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String key = ContentHash.toHex(digest.digest());
+            Path target = path(key);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // written concurrently by another upload of the same content
+                }
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public Resource load(String key) {
+        Path path = path(key);
+        return Files.isRegularFile(path) ? new FileSystemResource(path) : null;
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(path(key));
+        } catch (IOException e) {
+            throw new CustomServiceException("Failed to delete image", e);
+        }
+    }
+
+    @Override
+    public List<String> findAllKeys() {
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            return files.filter(path -> !path.startsWith(temp) && Files.isRegularFile(path))
+                    .map(path -> path.getFileName().toString())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new CustomServiceException("Failed to list images", e);
+        }
+    }
+
+    private Path path(String key) {
+        if (key == null || key.length() < 4 || !key.matches("[0-9a-f]+(_[0-9]+)?")) {
+            throw new CustomServiceException(400, "Invalid image key");
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
@@ -0,0 +1,122 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.service.ImageStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.uwu.tas.config.AsyncConfig.IMAGE_TASK_EXECUTOR;
+import static com.uwu.tas.constant.TASConstants.Image.DERIVATIVE_WIDTHS;
+
+/**
+ * Generates the fixed width JPEG derivatives of an image in the background and stores
+ * them under {@code <key>_<width>}. Images narrower than a width are stored as is.
+ */
+@Component
+public class ImageDerivativeGenerator {
+
+    private final ImageStore imageStore;
+    private final TaskExecutor taskExecutor;
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    public ImageDerivativeGenerator(ImageStore imageStore, @Qualifier(IMAGE_TASK_EXECUTOR) TaskExecutor taskExecutor) {
+        this.imageStore = imageStore;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public static String derivativeKey(String key, int width) {
+        return key + "_" + width;
+    }
+
+    /**
+     * Returns the smallest derivative width that is at least the requested width, or
+     * -1 when the original should be served.
+     */
+    public static int selectWidth(Integer requestedWidth) {
+        if (requestedWidth == null || requestedWidth <= 0) return -1;
+        for (int width : DERIVATIVE_WIDTHS) {
+            if (width >= requestedWidth) return width;
+        }
+        return -1;
+    }
+
+    /**
+     * Generates the derivatives of a stored image. The original is read back from the store
+     * when the task runs, so queued tasks hold only the key.
+     */
+    public void generate(String key) {
+        if (!inProgress.add(key)) return;
+        submit(key, () -> {
+            try {
+                Resource original = imageStore.load(key);
+                if (original == null) return;
+                try (InputStream in = original.getInputStream()) {
+                    createDerivatives(key, StreamUtils.copyToByteArray(in));
+                }
+            } catch (IOException e) {
+                System.out.println("ERROR: ImageDerivativeGenerator.generate: " + key + " " + e.getMessage());
+            } finally {
+                inProgress.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Runs the task, or forgets the key when the executor is full so the image is not
+     * skipped by every later call.
+     */
+    private void submit(String key, Runnable task) {
+        try {
+            taskExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            inProgress.remove(key);
+            System.out.println("ERROR: ImageDerivativeGenerator.submit: Queue is full, skipped " + key);
+        }
+    }
+
+    private void createDerivatives(String key, byte[] image) {
+        try {
+            BufferedImage original = ImageIO.read(new ByteArrayInputStream(image));
+            if (original == null) {
+                System.out.println("ERROR: ImageDerivativeGenerator.createDerivatives: Unsupported image format " + key);
+                return;
+            }
+            for (int width : DERIVATIVE_WIDTHS) {
+                String derivativeKey = derivativeKey(key, width);
+                if (imageStore.exists(derivativeKey)) continue;
+                imageStore.save(derivativeKey, original.getWidth() <= width ? image : resize(original, width));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("ERROR: ImageDerivativeGenerator.createDerivatives: " + key + " " + e.getMessage());
+        }
+    }
+
+    private byte[] resize(BufferedImage original, int width) throws IOException {
+        int height = Math.max(1, (int) Math.round((double) original.getHeight() * width / original.getWidth()));
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(resized, "jpg", out);
+        return out.toByteArray();
+    }
+}
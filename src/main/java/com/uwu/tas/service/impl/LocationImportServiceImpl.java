@@ -0,0 +1,364 @@
+package com.uwu.tas.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uwu.tas.cache.LocationDetailCache;
+import com.uwu.tas.cache.ReferenceDataCache;
+import com.uwu.tas.dto.location.LocationImportReportDto;
+import com.uwu.tas.dto.location.LocationImportRowDto;
+import com.uwu.tas.entity.*;
+import com.uwu.tas.enums.PlaceType;
+import com.uwu.tas.enums.VisibilityStatus;
+import com.uwu.tas.importer.*;
+import com.uwu.tas.repository.LocationAttractionRepository;
+import com.uwu.tas.repository.LocationRepository;
+import com.uwu.tas.repository.projection.LocationReference;
+import com.uwu.tas.search.LocationSearchIndex;
+import com.uwu.tas.search.NearbyIndex;
+import com.uwu.tas.service.FileService;
+import com.uwu.tas.service.LocationImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.stream.Collectors;
+
+import static com.uwu.tas.constant.TASConstants.Import.CHUNK_SIZE;
+import static com.uwu.tas.constant.TASConstants.Import.MAX_JOBS;
+
+/**
+ * Bulk import of locations and attractions. Rows are streamed from the request body and
+ * checked against in-memory lookups (provinces, activities, location and attraction names),
+ * then written {@code CHUNK_SIZE} rows per transaction. When a chunk fails, its rows are
+ * retried one per transaction so a bad row only rejects itself.
+ */
+@Service
+@RequiredArgsConstructor
+public class LocationImportServiceImpl implements LocationImportService {
+
+    private static final String LOCATION = "location";
+    private static final String ATTRACTION = "attraction";
+
+    private final LocationRepository locationRepository;
+    private final LocationAttractionRepository locationAttractionRepository;
+
+    private final ReferenceDataCache referenceDataCache;
+    private final LocationDetailCache locationDetailCache;
+    private final LocationSearchIndex locationSearchIndex;
+    private final NearbyIndex nearbyIndex;
+    private final FileService fileService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Deque<ImportJob> jobs = new ConcurrentLinkedDeque<>();
+
+    @Override
+    public LocationImportReportDto importLocations(InputStream in, boolean csv) {
+        ImportJob job = new ImportJob();
+        jobs.addFirst(job);
+        while (jobs.size() > MAX_JOBS) jobs.pollLast();
+
+        Lookups lookups = loadLookups();
+        List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (ImportRowReader reader = csv ? new CsvImportRowReader(in) : new NdjsonImportRowReader(in, objectMapper)) {
+            while (true) {
+                LocationImportRowDto row;
+                try {
+                    row = reader.next();
+                } catch (ImportRowException e) {
+                    job.rowRead();
+                    job.rowFailed(reader.getLine(), e.getMessage());
+                    continue;
+                }
+                if (row == null) break;
+                job.rowRead();
+                try {
+                    chunk.add(validate(row, reader.getLine(), lookups));
+                } catch (ImportRowException e) {
+                    job.rowFailed(reader.getLine(), e.getMessage());
+                    continue;
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    persistChunk(chunk, lookups, job);
+                    chunk.clear();
+                }
+            }
+            persistChunk(chunk, lookups, job);
+            job.finish("COMPLETED");
+        } catch (IOException | RuntimeException e) {
+            System.out.println("ERROR: LocationImportServiceImpl.importLocations: import aborted: " + e.getMessage());
+            job.finish("FAILED");
+        }
+        LocationImportReportDto report = job.toDto();
+        System.out.println("INFO: LocationImportServiceImpl.importLocations: " + report.getRowsRead() + " rows read, "
+                + report.getLocationsCreated() + " locations and " + report.getAttractionsCreated()
+                + " attractions created, " + report.getRowErrorCount() + " rows rejected");
+        return report;
+    }
+
+    @Override
+    public List<LocationImportReportDto> getImports() {
+        return jobs.stream().map(ImportJob::toDto).collect(Collectors.toList());
+    }
+
+    private Lookups loadLookups() {
+        Lookups lookups = new Lookups();
+        for (Province province : referenceDataCache.getProvinces()) {
+            lookups.provinces.put(String.valueOf(province.getId()), province);
+            lookups.provinces.put(key(province.getName()), province);
+        }
+        for (Activity activity : referenceDataCache.getActivities()) {
+            lookups.activityIds.put(String.valueOf(activity.getId()), activity.getId());
+            lookups.activityIds.put(key(activity.getActivityName()), activity.getId());
+        }
+        for (LocationReference reference : locationRepository.findAllReferences()) {
+            LocationRef ref = new LocationRef(reference.getLatitude(), reference.getLongitude(), reference.getProvinceName());
+            ref.id = reference.getId();
+            lookups.locations.put(key(reference.getName()), ref);
+        }
+        for (String name : locationAttractionRepository.findAllNames()) {
+            lookups.attractionNames.add(key(name));
+        }
+        return lookups;
+    }
+
+    private PendingRow validate(LocationImportRowDto row, long line, Lookups lookups) {
+        String name = row.getName() == null ? "" : row.getName().trim();
+        if (name.isEmpty()) throw new ImportRowException("Name is required");
+        String type = row.getType() == null ? LOCATION : row.getType().trim().toLowerCase(Locale.ROOT);
+
+        PendingRow pending = new PendingRow(line, row, name);
+        pending.pictures = row.getPictures() == null ? Collections.emptyList() : row.getPictures();
+
+        if (LOCATION.equals(type)) {
+            if (lookups.locations.containsKey(key(name)))
+                throw new ImportRowException("There is an existing location for given name!");
+            Province province = row.getProvince() == null ? null : lookups.provinces.get(key(row.getProvince()));
+            if (province == null) throw new ImportRowException("Province not found");
+            double latitude = row.getLatitude() == null ? 0 : row.getLatitude();
+            double longitude = row.getLongitude() == null ? 0 : row.getLongitude();
+            if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180)
+                throw new ImportRowException("Coordinates are out of range");
+            pending.provinceId = province.getId();
+            pending.activityIds = new ArrayList<>();
+            if (row.getActivities() != null) {
+                for (String activity : row.getActivities()) {
+                    Long activityId = lookups.activityIds.get(key(activity));
+                    if (activityId == null) throw new ImportRowException("Activity not found: " + activity);
+                    pending.activityIds.add(activityId);
+                }
+            }
+            pending.location = new LocationRef(latitude, longitude, province.getName());
+            lookups.locations.put(key(name), pending.location);
+        } else if (ATTRACTION.equals(type)) {
+            if (lookups.attractionNames.contains(key(name)))
+                throw new ImportRowException("There is an existing location attraction for given name!");
+            LocationRef location = row.getLocation() == null ? null : lookups.locations.get(key(row.getLocation()));
+            if (location == null) throw new ImportRowException("Location not found");
+            pending.attraction = true;
+            pending.location = location;
+            lookups.attractionNames.add(key(name));
+        } else {
+            throw new ImportRowException("Unknown type: " + row.getType());
+        }
+        return pending;
+    }
+
+    private void persistChunk(List<PendingRow> rows, Lookups lookups, ImportJob job) {
+        List<PendingRow> chunk = rejectMissingPictures(rows, lookups, job);
+        if (chunk.isEmpty()) return;
+        List<Runnable> indexUpdates = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (PendingRow pending : chunk) {
+                    persist(pending, indexUpdates);
+                }
+                detach();
+            });
+            chunk.forEach(pending -> created(pending, job));
+            indexUpdates.forEach(Runnable::run);
+        } catch (RuntimeException e) {
+            System.out.println("ERROR: LocationImportServiceImpl.persistChunk: chunk ending on line "
+                    + chunk.get(chunk.size() - 1).line + " failed, retrying rows one by one");
+            for (PendingRow pending : chunk) {
+                if (!pending.attraction) pending.location.id = 0;
+            }
+            for (PendingRow pending : chunk) {
+                List<Runnable> rowUpdates = new ArrayList<>();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        persist(pending, rowUpdates);
+                        detach();
+                    });
+                    created(pending, job);
+                    rowUpdates.forEach(Runnable::run);
+                } catch (RuntimeException rowException) {
+                    if (pending.attraction) {
+                        lookups.attractionNames.remove(key(pending.name));
+                    } else {
+                        lookups.locations.remove(key(pending.name));
+                    }
+                    job.rowFailed(pending.line, NestedExceptionUtils.getMostSpecificCause(rowException).getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Rows whose pictures are all stored, looked up for the whole chunk at once. The others
+     * are reported and forgotten, so later rows cannot refer to them.
+     */
+    private List<PendingRow> rejectMissingPictures(List<PendingRow> rows, Lookups lookups, ImportJob job) {
+        Set<String> keys = new HashSet<>();
+        rows.forEach(pending -> keys.addAll(pending.pictures));
+        if (keys.isEmpty()) return rows;
+        Set<String> existing = fileService.findExistingImages(keys);
+        List<PendingRow> accepted = new ArrayList<>(rows.size());
+        for (PendingRow pending : rows) {
+            Optional<String> missing = pending.pictures.stream().filter(key -> !existing.contains(key)).findFirst();
+            if (!missing.isPresent()) {
+                accepted.add(pending);
+                continue;
+            }
+            if (pending.attraction) {
+                lookups.attractionNames.remove(key(pending.name));
+            } else {
+                lookups.locations.remove(key(pending.name));
+            }
+            job.rowFailed(pending.line, "Picture not found: " + missing.get());
+        }
+        return accepted;
+    }
+
+    /**
+     * Writes the chunk and empties the persistence context. An import runs inside the request,
+     * whose entity manager outlives each chunk's transaction; without this every imported row
+     * would stay managed, and be dirty checked on each flush, until the request ends.
+     */
+    private void detach() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persist(PendingRow pending, List<Runnable> indexUpdates) {
+        LocationImportRowDto row = pending.row;
+        LocationRef ref = pending.location;
+        if (!pending.attraction) {
+            Location location = new Location();
+            location.setName(pending.name);
+            location.setLatitude(ref.latitude);
+            location.setLongitude(ref.longitude);
+            location.setDescription(row.getDescription());
+            location.setMinimumSpendingDays(row.getMinimumSpendingDays() == null ? 0 : row.getMinimumSpendingDays());
+            location.setVisibilityStatus(VisibilityStatus.VISIBLE);
+            location.setProvince(entityManager.getReference(Province.class, pending.provinceId));
+            entityManager.persist(location);
+            ref.id = location.getId();
+
+            for (String picture : pending.pictures) {
+                LocationPicture locationPicture = new LocationPicture();
+                locationPicture.setImageKey(picture);
+                locationPicture.setLocation(location);
+                entityManager.persist(locationPicture);
+            }
+            for (Long activityId : pending.activityIds) {
+                ActivityLocationDetail activityLocationDetail = new ActivityLocationDetail();
+                activityLocationDetail.setActivity(entityManager.getReference(Activity.class, activityId));
+                activityLocationDetail.setLocation(location);
+                entityManager.persist(activityLocationDetail);
+            }
+
+            indexUpdates.add(() -> {
+                locationSearchIndex.putLocation(location.getId(), location.getName(),
+                        location.getDescription(), ref.provinceName, location.getVisibilityStatus());
+                nearbyIndex.put(PlaceType.LOCATION, location.getId(), location.getName(), ref.latitude, ref.longitude);
+            });
+        } else {
+            if (ref.id == 0) throw new ImportRowException("Location not found");
+            LocationAttraction locationAttraction = new LocationAttraction();
+            locationAttraction.setName(pending.name);
+            locationAttraction.setDescription(row.getDescription());
+            locationAttraction.setTelephone(row.getTelephone());
+            locationAttraction.setEmail(row.getEmail());
+            locationAttraction.setWebsite(row.getWebsite());
+            locationAttraction.setVisibilityStatus(VisibilityStatus.VISIBLE);
+            locationAttraction.setLocation(entityManager.getReference(Location.class, ref.id));
+            entityManager.persist(locationAttraction);
+
+            for (String picture : pending.pictures) {
+                LocationAttractionPicture locationAttractionPicture = new LocationAttractionPicture();
+                locationAttractionPicture.setImageKey(picture);
+                locationAttractionPicture.setLocationAttraction(locationAttraction);
+                entityManager.persist(locationAttractionPicture);
+            }
+
+            long locationId = ref.id;
+            indexUpdates.add(() -> {
+                locationDetailCache.evict(locationId);
+                locationSearchIndex.putAttraction(locationAttraction.getId(), locationAttraction.getName(),
+                        locationAttraction.getDescription(), ref.provinceName, locationAttraction.getVisibilityStatus());
+                nearbyIndex.put(PlaceType.LOCATION_ATTRACTION, locationAttraction.getId(), locationAttraction.getName(),
+                        ref.latitude, ref.longitude);
+            });
+        }
+    }
+
+    private static void created(PendingRow pending, ImportJob job) {
+        if (pending.attraction) {
+            job.attractionCreated();
+        } else {
+            job.locationCreated();
+        }
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Lookups {
+        private final Map<String, Province> provinces = new HashMap<>();
+        private final Map<String, Long> activityIds = new HashMap<>();
+        private final Map<String, LocationRef> locations = new HashMap<>();
+        private final Set<String> attractionNames = new HashSet<>();
+    }
+
+    /**
+     * A location known to the import, either already stored or created by an earlier row.
+     * {@code id} stays 0 until the row creating it has been written.
+     */
+    private static class LocationRef {
+        private long id;
+        private final double latitude;
+        private final double longitude;
+        private final String provinceName;
+
+        private LocationRef(double latitude, double longitude, String provinceName) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.provinceName = provinceName;
+        }
+    }
+
+    private static class PendingRow {
+        private final long line;
+        private final LocationImportRowDto row;
+        private final String name;
+        private boolean attraction;
+        private LocationRef location;
+        private long provinceId;
+        private List<Long> activityIds;
+        private List<String> pictures;
+
+        private PendingRow(long line, LocationImportRowDto row, String name) {
+            this.line = line;
+            this.row = row;
+            this.name = name;
+        }
+    }
+}
@@ -1,24 +1,46 @@
 package com.uwu.tas.service.impl;
 
+import com.uwu.tas.cache.LocationDetailCache;
+import com.uwu.tas.dto.CursorPageDto;
 import com.uwu.tas.dto.activity.ActivityDto;
 import com.uwu.tas.dto.location.LocationAttractionDto;
 import com.uwu.tas.dto.location.LocationDto;
 import com.uwu.tas.entity.*;
+import com.uwu.tas.enums.PlaceType;
 import com.uwu.tas.enums.VisibilityStatus;
 import com.uwu.tas.exception.CustomServiceException;
 import com.uwu.tas.repository.*;
+import com.uwu.tas.repository.projection.LocationSummary;
+import com.uwu.tas.repository.projection.PictureReference;
+import com.uwu.tas.service.FileService;
+import com.uwu.tas.search.LocationSearchIndex;
+import com.uwu.tas.search.NearbyIndex;
 import com.uwu.tas.service.LocationService;
+import com.uwu.tas.util.AfterCommit;
 import com.uwu.tas.util.Base64Handler;
+import com.uwu.tas.util.CursorCodec;
+import com.uwu.tas.util.ImageUrlBuilder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
+import static com.uwu.tas.constant.TASConstants.Page.DEFAULT_SIZE;
+import static com.uwu.tas.constant.TASConstants.Page.MAX_SIZE;
 import static com.uwu.tas.constant.TASConstants.Url.*;
 
 @Service
@@ -33,11 +55,21 @@ public class LocationServiceImpl implements LocationService {
     private final ActivityRepository activityRepository;
     private final ActivityLocationDetailRepository activityLocationDetailRepository;
 
+    private final FileService fileService;
+    private final LocationDetailCache locationDetailCache;
+    private final LocationSearchIndex locationSearchIndex;
+    private final NearbyIndex nearbyIndex;
     private final Base64Handler base64Handler;
 
     @Override
     @Transactional
     public void createLocation(LocationDto locationDto) {
+        createLocation(locationDto, toPictureSources(locationDto.getLocationPictures()));
+    }
+
+    @Override
+    @Transactional
+    public void createLocation(LocationDto locationDto, List<? extends InputStreamSource> pictures) {
 
         if (locationRepository.existsByName(locationDto.getName()))
             throw new CustomServiceException(409, "There is an existing location for given name!");
@@ -54,13 +86,11 @@ public class LocationServiceImpl implements LocationService {
         location.setProvince(province);
 
         List<LocationPicture> locationPictures = new ArrayList<>();
-        for (String picture : locationDto.getLocationPictures()) {
-            if (picture != null) {
-                LocationPicture locationPicture = new LocationPicture();
-                locationPicture.setImage(base64Handler.getByteArrayFromBase64(picture));
-                locationPicture.setLocation(location);
-                locationPictures.add(locationPicture);
-            }
+        for (InputStreamSource picture : pictures) {
+            LocationPicture locationPicture = new LocationPicture();
+            locationPicture.setImageKey(fileService.saveImage(picture));
+            locationPicture.setLocation(location);
+            locationPictures.add(locationPicture);
         }
 
         List<ActivityLocationDetail> activityLocationDetails = new ArrayList<>();
@@ -75,6 +105,12 @@ public class LocationServiceImpl implements LocationService {
         locationRepository.save(location);
         locationPictureRepository.saveAll(locationPictures);
         activityLocationDetailRepository.saveAll(activityLocationDetails);
+
+        AfterCommit.run(() -> {
+            locationSearchIndex.putLocation(location.getId(), location.getName(),
+                    location.getDescription(), province.getName(), location.getVisibilityStatus());
+            nearbyIndex.put(PlaceType.LOCATION, location.getId(), location.getName(), location.getLatitude(), location.getLongitude());
+        });
     }
 
     @Override
@@ -88,12 +124,42 @@ public class LocationServiceImpl implements LocationService {
         if (location.getVisibilityStatus().equals(VisibilityStatus.VISIBLE)) status = VisibilityStatus.NOT_VISIBLE;
         location.setVisibilityStatus(status);
         locationRepository.save(location);
+        locationDetailCache.evict(id);
+        AfterCommit.run(() -> {
+            locationSearchIndex.setLocationStatus(id, location.getVisibilityStatus());
+            if (location.getVisibilityStatus() == VisibilityStatus.VISIBLE) {
+                nearbyIndex.put(PlaceType.LOCATION, id, location.getName(), location.getLatitude(), location.getLongitude());
+            } else {
+                nearbyIndex.remove(PlaceType.LOCATION, id);
+            }
+        });
     }
 
     @Override
-    public List<LocationDto> getAllLocations(String text) {
-        List<Location> locations = locationRepository.findAll();
-        return locations.stream().map(location -> {
+    public CursorPageDto<LocationDto> getAllLocations(String text, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        List<LocationSummary> locations;
+        String nextCursor = null;
+        if (LocationSearchIndex.isSearchable(text)) {
+            int offset = cursor == null ? 0 : CursorCodec.decodeOffset(cursor);
+            List<Long> ids = locationSearchIndex.searchLocations(text, offset + pageSize + 1, false);
+            if (ids.size() > offset + pageSize) nextCursor = CursorCodec.encode(String.valueOf(offset + pageSize));
+            locations = inRankOrder(ids.subList(Math.min(offset, ids.size()), Math.min(offset + pageSize, ids.size())),
+                    locationRepository::findSummariesByIds, LocationSummary::getId);
+        } else if (cursor == null) {
+            locations = locationRepository.findSummaries(PageRequest.of(0, pageSize + 1));
+        } else {
+            String[] position = CursorCodec.decode(cursor, 2);
+            locations = locationRepository.findSummariesAfter(parseDateTime(position[0]), parseId(position[1]), PageRequest.of(0, pageSize + 1));
+        }
+
+        if (locations.size() > pageSize) {
+            locations = locations.subList(0, pageSize);
+            LocationSummary last = locations.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(last.getUpdatedDateTime().toString(), String.valueOf(last.getId()));
+        }
+
+        List<LocationDto> locationDtos = locations.stream().map(location -> {
             LocationDto locationDto = new LocationDto();
             locationDto.setId(location.getId());
             locationDto.setName(location.getName());
@@ -102,18 +168,23 @@ public class LocationServiceImpl implements LocationService {
             locationDto.setDescription(location.getDescription());
             locationDto.setMinimumSpendingDays(location.getMinimumSpendingDays());
             locationDto.setVisibilityStatus(location.getVisibilityStatus());
-            locationDto.setProvinceId(location.getProvince().getId());
-            locationDto.setProvinceName(location.getProvince().getName());
+            locationDto.setProvinceId(location.getProvinceId());
+            locationDto.setProvinceName(location.getProvinceName());
             locationDto.setModifiedDateTime(DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM)
                     .format(location.getUpdatedDateTime()));
-            locationDto.setNumberOfActivities(activityLocationDetailRepository.countByLocation(location));
-            locationDto.setNumberOfAttractions(locationAttractionRepository.countByLocation(location));
+            locationDto.setNumberOfActivities(location.getNumberOfActivities());
+            locationDto.setNumberOfAttractions(location.getNumberOfAttractions());
             return locationDto;
         }).collect(Collectors.toList());
+        return new CursorPageDto<>(locationDtos, nextCursor);
     }
 
     @Override
     public LocationDto getLocationById(long id) {
+        return locationDetailCache.get(id, this::assembleLocation);
+    }
+
+    private LocationDto assembleLocation(long id) {
         Location location = locationRepository.findById(id).orElseThrow(() -> new CustomServiceException(404, "Location not found"));
         LocationDto locationDto = new LocationDto();
         locationDto.setId(location.getId());
@@ -127,28 +198,32 @@ public class LocationServiceImpl implements LocationService {
         locationDto.setProvinceName(location.getProvince().getName());
 
         List<String> locationPictureUrls = new ArrayList<>();
-        List<LocationPicture> locationPictures = location.getLocationPictures();
-        for (LocationPicture locationPicture : locationPictures) {
-            locationPictureUrls.add(LOCATION_IMAGE_BASE_URL + "/" + locationPicture.getId());
+        for (PictureReference locationPicture : locationPictureRepository.findReferencesByLocation(location)) {
+            locationPictureUrls.add(ImageUrlBuilder.build(LOCATION_IMAGE_BASE_URL, locationPicture.getId(), locationPicture.getImageKey()));
         }
         locationDto.setLocationPictures(locationPictureUrls);
 
-        locationDto.setNumberOfActivities(activityLocationDetailRepository.countByLocation(location));
+        Set<Long> locationActivityIds = activityLocationDetailRepository.findActivityIdsByLocation(location);
+        locationDto.setNumberOfActivities(locationActivityIds.size());
         List<Activity> activities = activityRepository.findByVisibilityStatus(VisibilityStatus.VISIBLE);
         List<ActivityDto> activitiesForLocation = activities.stream().map(activity -> {
             return new ActivityDto(
                     activity.getId(),
                     activity.getActivityName(),
-                    ACTIVITY_IMAGE_BASE_URL + "/" + activity.getId(),
+                    ImageUrlBuilder.build(ACTIVITY_IMAGE_BASE_URL, activity.getId(), activity.getImageKey()),
                     activity.getVisibilityStatus(),
-                    activityLocationDetailRepository.existsByLocationAndActivity(location, activity)
+                    locationActivityIds.contains(activity.getId())
             );
         }).collect(Collectors.toList());
         locationDto.setLocationActivities(activitiesForLocation);
 
-        locationDto.setNumberOfAttractions(locationAttractionRepository.countByLocation(location));
+        Map<Long, List<String>> attractionPictureUrls = locationAttractionPictureRepository.findReferencesByLocation(location).stream()
+                .collect(Collectors.groupingBy(PictureReference::getOwnerId,
+                        Collectors.mapping(picture -> ImageUrlBuilder.build(LOCATION_ATTRACTION_IMAGE_BASE_URL, picture.getId(), picture.getImageKey()), Collectors.toList())));
+
         List<LocationAttractionDto> locationAttractionDtos = new ArrayList<>();
         List<LocationAttraction> locationAttractions = locationAttractionRepository.findByLocation(location);
+        locationDto.setNumberOfAttractions(locationAttractions.size());
         for (LocationAttraction locationAttraction : locationAttractions) {
             LocationAttractionDto locationAttractionDto = new LocationAttractionDto(
                     locationAttraction.getId(),
@@ -159,9 +234,7 @@ public class LocationServiceImpl implements LocationService {
                     locationAttraction.getWebsite(),
                     locationAttraction.getVisibilityStatus(),
                     location.getId(),
-                    locationAttractionPictureRepository.findByLocationAttraction(locationAttraction).stream()
-                            .map(locationAttractionPicture -> LOCATION_ATTRACTION_IMAGE_BASE_URL + "/" + locationAttractionPicture.getId())
-                            .collect(Collectors.toList())
+                    attractionPictureUrls.getOrDefault(locationAttraction.getId(), new ArrayList<>())
             );
             locationAttractionDtos.add(locationAttractionDto);
         }
@@ -173,6 +246,12 @@ public class LocationServiceImpl implements LocationService {
     @Override
     @Transactional
     public void createLocationAttraction(LocationAttractionDto locationAttractionDto) {
+        createLocationAttraction(locationAttractionDto, toPictureSources(locationAttractionDto.getLocationAttractionPictures()));
+    }
+
+    @Override
+    @Transactional
+    public void createLocationAttraction(LocationAttractionDto locationAttractionDto, List<? extends InputStreamSource> pictures) {
         if (locationAttractionRepository.existsByName(locationAttractionDto.getName())) {
             throw new CustomServiceException(409, "There is an existing location attraction for given name!");
         }
@@ -188,15 +267,24 @@ public class LocationServiceImpl implements LocationService {
         locationAttraction.setLocation(location);
 
         List<LocationAttractionPicture> locationAttractionPictures = new ArrayList<>();
-        for (String picture : locationAttractionDto.getLocationAttractionPictures()) {
+        for (InputStreamSource picture : pictures) {
             LocationAttractionPicture locationAttractionPicture = new LocationAttractionPicture();
-            locationAttractionPicture.setImage(base64Handler.getByteArrayFromBase64(picture));
+            locationAttractionPicture.setImageKey(fileService.saveImage(picture));
             locationAttractionPicture.setLocationAttraction(locationAttraction);
             locationAttractionPictures.add(locationAttractionPicture);
         }
 
         locationAttractionRepository.save(locationAttraction);
         locationAttractionPictureRepository.saveAll(locationAttractionPictures);
+        locationDetailCache.evict(location.getId());
+
+        String provinceName = location.getProvince().getName();
+        AfterCommit.run(() -> {
+            locationSearchIndex.putAttraction(locationAttraction.getId(), locationAttraction.getName(),
+                    locationAttraction.getDescription(), provinceName, locationAttraction.getVisibilityStatus());
+            nearbyIndex.put(PlaceType.LOCATION_ATTRACTION, locationAttraction.getId(), locationAttraction.getName(),
+                    location.getLatitude(), location.getLongitude());
+        });
     }
 
     @Override
@@ -209,12 +297,49 @@ public class LocationServiceImpl implements LocationService {
                 .orElseThrow(() -> new CustomServiceException(404, "Location attraction not found"));
         locationAttraction.setVisibilityStatus(status);
         locationAttractionRepository.save(locationAttraction);
+        Location location = locationAttraction.getLocation();
+        locationDetailCache.evict(location.getId());
+        double latitude = location.getLatitude();
+        double longitude = location.getLongitude();
+        AfterCommit.run(() -> {
+            locationSearchIndex.setAttractionStatus(id, locationAttraction.getVisibilityStatus());
+            if (locationAttraction.getVisibilityStatus() == VisibilityStatus.VISIBLE) {
+                nearbyIndex.put(PlaceType.LOCATION_ATTRACTION, id, locationAttraction.getName(), latitude, longitude);
+            } else {
+                nearbyIndex.remove(PlaceType.LOCATION_ATTRACTION, id);
+            }
+        });
     }
 
     @Override
-    public List<LocationAttractionDto> getAllLocationAttractions(String text) {
-        List<LocationAttraction> attractions = locationAttractionRepository.findByNameLike(text);
-        return attractions.stream().map(attraction -> new LocationAttractionDto(
+    public CursorPageDto<LocationAttractionDto> getAllLocationAttractions(String text, String cursor, Integer size, Integer imageWidth) {
+        int pageSize = pageSize(size);
+        List<LocationAttraction> attractions;
+        String nextCursor = null;
+        if (LocationSearchIndex.isSearchable(text)) {
+            int offset = cursor == null ? 0 : CursorCodec.decodeOffset(cursor);
+            List<Long> ids = locationSearchIndex.searchAttractions(text, offset + pageSize + 1, false);
+            if (ids.size() > offset + pageSize) nextCursor = CursorCodec.encode(String.valueOf(offset + pageSize));
+            attractions = inRankOrder(ids.subList(Math.min(offset, ids.size()), Math.min(offset + pageSize, ids.size())),
+                    locationAttractionRepository::findAllById, LocationAttraction::getId);
+        } else if (cursor == null) {
+            attractions = locationAttractionRepository.findAllByName(PageRequest.of(0, pageSize + 1));
+        } else {
+            String[] position = CursorCodec.decode(cursor, 2);
+            attractions = locationAttractionRepository.findAllByNameAfter(position[0], parseId(position[1]), PageRequest.of(0, pageSize + 1));
+        }
+
+        if (attractions.size() > pageSize) {
+            attractions = attractions.subList(0, pageSize);
+            LocationAttraction last = attractions.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(last.getName(), String.valueOf(last.getId()));
+        }
+        if (attractions.isEmpty()) return new CursorPageDto<>(new ArrayList<>(), null);
+
+        Map<Long, List<String>> attractionPictureUrls = locationAttractionPictureRepository.findReferencesByLocationAttractions(attractions).stream()
+                .collect(Collectors.groupingBy(PictureReference::getOwnerId,
+                        Collectors.mapping(picture -> ImageUrlBuilder.build(LOCATION_ATTRACTION_IMAGE_BASE_URL, picture.getId(), picture.getImageKey(), imageWidth), Collectors.toList())));
+        List<LocationAttractionDto> attractionDtos = attractions.stream().map(attraction -> new LocationAttractionDto(
                 attraction.getId(),
                 attraction.getName(),
                 attraction.getDescription(),
@@ -223,10 +348,9 @@ public class LocationServiceImpl implements LocationService {
                 attraction.getWebsite(),
                 attraction.getVisibilityStatus(),
                 attraction.getLocation().getId(),
-                locationAttractionPictureRepository.findByLocationAttraction(attraction).stream()
-                        .map(locationAttractionPicture -> LOCATION_ATTRACTION_IMAGE_BASE_URL + "/" + locationAttractionPicture.getId())
-                        .collect(Collectors.toList())
+                attractionPictureUrls.getOrDefault(attraction.getId(), new ArrayList<>())
         )).collect(Collectors.toList());
+        return new CursorPageDto<>(attractionDtos, nextCursor);
     }
 
     @Override
@@ -241,9 +365,49 @@ public class LocationServiceImpl implements LocationService {
                 attraction.getWebsite(),
                 attraction.getVisibilityStatus(),
                 attraction.getLocation().getId(),
-                locationAttractionPictureRepository.findByLocationAttraction(attraction).stream()
-                        .map(locationAttractionPicture -> LOCATION_ATTRACTION_IMAGE_BASE_URL + "/" + locationAttractionPicture.getId())
+                locationAttractionPictureRepository.findReferencesByLocationAttraction(attraction).stream()
+                        .map(picture -> ImageUrlBuilder.build(LOCATION_ATTRACTION_IMAGE_BASE_URL, picture.getId(), picture.getImageKey()))
                         .collect(Collectors.toList())
         );
     }
+
+    private List<InputStreamSource> toPictureSources(List<String> pictures) {
+        List<InputStreamSource> sources = new ArrayList<>();
+        if (pictures == null) return sources;
+        for (String picture : pictures) {
+            if (picture != null) sources.add(() -> base64Handler.getInputStreamFromBase64(picture));
+        }
+        return sources;
+    }
+
+    /**
+     * Loads rows by id and returns them in the order of the given (search ranked) ids.
+     */
+    private <T> List<T> inRankOrder(List<Long> ids, Function<List<Long>, List<T>> loader, ToLongFunction<T> idOf) {
+        if (ids.isEmpty()) return new ArrayList<>();
+        Map<Long, T> rows = loader.apply(ids).stream().collect(Collectors.toMap(idOf::applyAsLong, Function.identity()));
+        return ids.stream().map(rows::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) return DEFAULT_SIZE;
+        if (size < 1 || size > MAX_SIZE) throw new CustomServiceException(400, "Page size must be between 1 and " + MAX_SIZE);
+        return size;
+    }
+
+    private LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new CustomServiceException(400, "Invalid cursor");
+        }
+    }
+
+    private long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new CustomServiceException(400, "Invalid cursor");
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.dto.map.MapClusterDto;
+import com.uwu.tas.dto.nearby.NearbyPlaceDto;
+import com.uwu.tas.enums.PlaceType;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.search.GeoGridIndex;
+import com.uwu.tas.search.GridClusterIndex;
+import com.uwu.tas.search.NearbyIndex;
+import com.uwu.tas.service.NearbyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.uwu.tas.constant.TASConstants.Nearby.DEFAULT_RADIUS_KM;
+import static com.uwu.tas.constant.TASConstants.Nearby.MAX_CLUSTER_CELLS;
+import static com.uwu.tas.constant.TASConstants.Nearby.MAX_RADIUS_KM;
+import static com.uwu.tas.constant.TASConstants.Page.DEFAULT_SIZE;
+import static com.uwu.tas.constant.TASConstants.Page.MAX_SIZE;
+
+@Service
+@RequiredArgsConstructor
+public class NearbyServiceImpl implements NearbyService {
+
+    private final NearbyIndex nearbyIndex;
+
+    @Override
+    public List<NearbyPlaceDto> getNearbyPlaces(double latitude, double longitude, Double radius, Set<PlaceType> types, Integer size) {
+        validatePosition(latitude, longitude);
+        double radiusKm = radius == null ? DEFAULT_RADIUS_KM : radius;
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new CustomServiceException(400, "Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+        int limit = size == null ? DEFAULT_SIZE : Math.max(1, Math.min(size, MAX_SIZE));
+
+        List<NearbyPlaceDto> places = new ArrayList<>();
+        for (PlaceType type : orAll(types)) {
+            for (GeoGridIndex.Hit hit : nearbyIndex.within(type, latitude, longitude, radiusKm, limit)) {
+                GeoGridIndex.Point point = hit.getPoint();
+                places.add(new NearbyPlaceDto(type, point.getId(), point.getName(), point.getLatitude(), point.getLongitude(), hit.getDistance()));
+            }
+        }
+        places.sort(Comparator.comparingDouble(NearbyPlaceDto::getDistance));
+        return places.size() > limit ? new ArrayList<>(places.subList(0, limit)) : places;
+    }
+
+    @Override
+    public List<MapClusterDto> getClusters(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                           int zoom, Set<PlaceType> types) {
+        validatePosition(minLatitude, minLongitude);
+        validatePosition(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude) throw new CustomServiceException(400, "Invalid bounding box");
+        if (zoom < 0 || zoom > GridClusterIndex.MAX_ZOOM) {
+            throw new CustomServiceException(400, "Zoom must be between 0 and " + GridClusterIndex.MAX_ZOOM);
+        }
+        if (GridClusterIndex.cellsWithin(minLatitude, minLongitude, maxLatitude, maxLongitude, zoom) > MAX_CLUSTER_CELLS) {
+            throw new CustomServiceException(400, "Bounding box too large for zoom level");
+        }
+
+        List<MapClusterDto> clusters = new ArrayList<>();
+        for (PlaceType type : orAll(types)) {
+            for (GridClusterIndex.Cluster cluster : nearbyIndex.clusters(type, minLatitude, minLongitude, maxLatitude, maxLongitude, zoom)) {
+                clusters.add(new MapClusterDto(type, cluster.getCount(), cluster.getLatitude(), cluster.getLongitude(), cluster.getRepresentativeId()));
+            }
+        }
+        return clusters;
+    }
+
+    private void validatePosition(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new CustomServiceException(400, "Invalid position");
+        }
+    }
+
+    private Set<PlaceType> orAll(Set<PlaceType> types) {
+        return types == null || types.isEmpty() ? EnumSet.allOf(PlaceType.class) : types;
+    }
+}
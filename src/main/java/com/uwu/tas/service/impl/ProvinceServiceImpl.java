@@ -1,5 +1,6 @@
 package com.uwu.tas.service.impl;
 
+import com.uwu.tas.cache.ReferenceDataCache;
 import com.uwu.tas.dto.province.ProvinceDto;
 import com.uwu.tas.entity.Province;
 import com.uwu.tas.exception.CustomServiceException;
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
 public class ProvinceServiceImpl implements ProvinceService {
 
     private final ProvinceRepository provinceRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     public void saveProvince(ProvinceDto provinceDto) {
@@ -32,11 +34,12 @@ public class ProvinceServiceImpl implements ProvinceService {
         Province province = new Province();
         province.setName(provinceDto.getName());
         provinceRepository.save(province);
+        referenceDataCache.evict(ReferenceDataCache.ReferenceData.PROVINCES);
     }
 
     @Override
     public List<ProvinceDto> getAllProvince() {
-        List<Province> provinces = provinceRepository.findAll();
+        List<Province> provinces = referenceDataCache.getProvinces();
         List<ProvinceDto> provinceDtos = new ArrayList<>();
         for (Province p : provinces) {
             provinceDtos.add(new ProvinceDto(p.getId(), p.getName()));
@@ -46,7 +49,7 @@ public class ProvinceServiceImpl implements ProvinceService {
 
     @Override
     public List<String> getAllProvinceNames() {
-        List<Province> provinces = provinceRepository.findAll();
+        List<Province> provinces = referenceDataCache.getProvinces();
         return provinces.stream().map(Province::getName).collect(Collectors.toList());
     }
 }
@@ -0,0 +1,86 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.dto.accommodation.RoomPackageRateDto;
+import com.uwu.tas.entity.RoomPackage;
+import com.uwu.tas.entity.RoomPackageRate;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.pricing.RateQuote;
+import com.uwu.tas.pricing.RoomRateCalendar;
+import com.uwu.tas.repository.RoomPackageRateRepository;
+import com.uwu.tas.repository.RoomPackageRepository;
+import com.uwu.tas.service.RoomPackageRateService;
+import com.uwu.tas.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.uwu.tas.constant.TASConstants.Reservation.MAX_NIGHTS;
+
+@Service
+@RequiredArgsConstructor
+public class RoomPackageRateServiceImpl implements RoomPackageRateService {
+
+    private final RoomPackageRepository roomPackageRepository;
+    private final RoomPackageRateRepository roomPackageRateRepository;
+
+    private final RoomRateCalendar roomRateCalendar;
+
+    @Override
+    @Transactional
+    public RoomPackageRateDto saveRate(RoomPackageRateDto roomPackageRateDto) {
+        LocalDate startDate = roomPackageRateDto.getStartDate();
+        LocalDate endDate = roomPackageRateDto.getEndDate();
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate))
+            throw new CustomServiceException(400, "Start date must be before end date");
+        if (roomPackageRateDto.getPrice() < 0 || roomPackageRateDto.getDiscount() < 0
+                || roomPackageRateDto.getDiscount() > roomPackageRateDto.getPrice())
+            throw new CustomServiceException(400, "Invalid price or discount");
+        RoomPackage roomPackage = roomPackageRepository.findById(roomPackageRateDto.getRoomPackageId())
+                .orElseThrow(() -> new CustomServiceException(404, "Room package not found"));
+
+        RoomPackageRate roomPackageRate = new RoomPackageRate();
+        roomPackageRate.setStartDate(startDate);
+        roomPackageRate.setEndDate(endDate);
+        roomPackageRate.setPrice(roomPackageRateDto.getPrice());
+        roomPackageRate.setDiscount(roomPackageRateDto.getDiscount());
+        roomPackageRate.setRoomPackage(roomPackage);
+        roomPackageRateRepository.save(roomPackageRate);
+
+        long roomPackageId = roomPackage.getId();
+        AfterCommit.run(() -> roomRateCalendar.reload(roomPackageId));
+        roomPackageRateDto.setId(roomPackageRate.getId());
+        return roomPackageRateDto;
+    }
+
+    @Override
+    @Transactional
+    public void deleteRate(long id) {
+        RoomPackageRate roomPackageRate = roomPackageRateRepository.findById(id)
+                .orElseThrow(() -> new CustomServiceException(404, "Rate not found"));
+        long roomPackageId = roomPackageRate.getRoomPackage().getId();
+        roomPackageRateRepository.delete(roomPackageRate);
+        AfterCommit.run(() -> roomRateCalendar.reload(roomPackageId));
+    }
+
+    @Override
+    public List<RoomPackageRateDto> getRates(long roomPackageId) {
+        return roomPackageRateRepository.findDocumentsByRoomPackageId(roomPackageId).stream()
+                .map(rate -> new RoomPackageRateDto(rate.getId(), rate.getRoomPackageId(), rate.getStartDate(),
+                        rate.getEndDate(), rate.getPrice(), rate.getDiscount()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public RateQuote getQuote(long roomPackageId, LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) throw new CustomServiceException(400, "Check in and check out dates are required");
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (nights < 1 || nights > MAX_NIGHTS)
+            throw new CustomServiceException(400, "A stay must be between 1 and " + MAX_NIGHTS + " nights");
+        return roomRateCalendar.quote(roomPackageId, checkIn, checkOut);
+    }
+}
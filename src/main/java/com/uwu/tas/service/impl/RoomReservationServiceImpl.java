@@ -0,0 +1,173 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.dto.reservation.RoomReservationDto;
+import com.uwu.tas.entity.*;
+import com.uwu.tas.enums.ReservationStatus;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.inventory.RoomAvailabilityCalendar;
+import com.uwu.tas.pricing.RateCalendar;
+import com.uwu.tas.repository.*;
+import com.uwu.tas.service.RoomReservationService;
+import com.uwu.tas.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.uwu.tas.constant.TASConstants.Reservation.*;
+
+/**
+ * Room bookings against per night inventory. A booking adds its rooms to every night of
+ * the stay with one conditional update, which only touches nights that still have them
+ * free; if fewer nights than the stay were updated the transaction rolls back, so
+ * concurrent bookings can never take a night past its total.
+ */
+@Service
+@RequiredArgsConstructor
+public class RoomReservationServiceImpl implements RoomReservationService {
+
+    private final RoomRepository roomRepository;
+    private final RoomPackageRepository roomPackageRepository;
+    private final RoomPackageRateRepository roomPackageRateRepository;
+    private final RoomReservationRepository roomReservationRepository;
+    private final ReservationPackageDetailRepository reservationPackageDetailRepository;
+    private final RoomInventoryRepository roomInventoryRepository;
+    private final PublicUserRepository publicUserRepository;
+
+    private final RoomAvailabilityCalendar roomAvailabilityCalendar;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public RoomReservationDto reserveRoom(RoomReservationDto roomReservationDto) {
+        long roomId = roomReservationDto.getRoomId();
+        LocalDate checkIn = roomReservationDto.getCheckInDate();
+        LocalDate checkOut = roomReservationDto.getCheckOutDate();
+        int roomCount = roomReservationDto.getRoomCount();
+        long nights = validateStay(checkIn, checkOut);
+        if (roomCount < 1 || roomCount > MAX_ROOMS)
+            throw new CustomServiceException(400, "Room count must be between 1 and " + MAX_ROOMS);
+
+        // inventory rows are created in their own transaction so the booking below only updates
+        createInventory(roomId, checkIn, checkOut);
+
+        RoomReservation roomReservation = transactionTemplate.execute(status -> {
+            PublicUser publicUser = publicUserRepository.findById(roomReservationDto.getPublicUserId())
+                    .orElseThrow(() -> new CustomServiceException(404, "User not found"));
+            RoomPackage roomPackage = roomPackageRepository.findById(roomReservationDto.getRoomPackageId())
+                    .filter(p -> p.getRoom().getId() == roomId)
+                    .orElseThrow(() -> new CustomServiceException(404, "Room package not found"));
+
+            int booked = roomInventoryRepository.book(roomId, checkIn, checkOut, roomCount);
+            if (booked != nights) {
+                System.out.println("INFO: RoomReservationService.reserveRoom: room " + roomId + " is full on "
+                        + (nights - booked) + " of " + nights + " nights");
+                throw new CustomServiceException(409, "Room is not available for the selected dates");
+            }
+
+            // priced from the rates as of this transaction; price and discount below stay the base rate
+            RateCalendar rateCalendar = new RateCalendar(roomPackage.getId(), 0, roomPackage.getPrice(), roomPackage.getDiscount(),
+                    roomPackageRateRepository.findDocumentsByRoomPackageId(roomPackage.getId()));
+            double amount = rateCalendar.quote(checkIn, checkOut).getTotalPrice() * roomCount;
+
+            RoomReservation reservation = new RoomReservation();
+            reservation.setDateTime(LocalDateTime.now());
+            reservation.setCheckInDate(checkIn);
+            reservation.setCheckOutDate(checkOut);
+            reservation.setRoomCount(roomCount);
+            reservation.setTotalPrice(amount);
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+            reservation.setRoom(roomPackage.getRoom());
+            reservation.setPublicUser(publicUser);
+            roomReservationRepository.save(reservation);
+
+            ReservationPackageDetail reservationPackageDetail = new ReservationPackageDetail();
+            reservationPackageDetail.setPrice(roomPackage.getPrice());
+            reservationPackageDetail.setDiscount(roomPackage.getDiscount());
+            reservationPackageDetail.setAmount(amount);
+            reservationPackageDetail.setRoomPackage(roomPackage);
+            reservationPackageDetail.setRoomReservation(reservation);
+            reservationPackageDetailRepository.save(reservationPackageDetail);
+
+            AfterCommit.run(() -> roomAvailabilityCalendar.refresh(roomId, checkIn, checkOut));
+            return reservation;
+        });
+
+        roomReservationDto.setId(roomReservation.getId());
+        roomReservationDto.setTotalPrice(roomReservation.getTotalPrice());
+        roomReservationDto.setStatus(roomReservation.getStatus());
+        System.out.println("INFO: RoomReservationService.reserveRoom: Reservation " + roomReservation.getId() + " saved successfully");
+        return roomReservationDto;
+    }
+
+    @Override
+    public void cancelRoomReservation(long id) {
+        transactionTemplate.executeWithoutResult(status -> {
+            RoomReservation reservation = roomReservationRepository.findById(id)
+                    .orElseThrow(() -> new CustomServiceException(404, "Reservation not found"));
+            if (reservation.getStatus() != ReservationStatus.CONFIRMED)
+                throw new CustomServiceException(409, "Reservation is already cancelled");
+            long roomId = reservation.getRoom().getId();
+            LocalDate checkIn = reservation.getCheckInDate();
+            LocalDate checkOut = reservation.getCheckOutDate();
+            int released = roomInventoryRepository.release(roomId, checkIn, checkOut, reservation.getRoomCount());
+            if (released != ChronoUnit.DAYS.between(checkIn, checkOut))
+                System.out.println("ERROR: RoomReservationService.cancelRoomReservation: inventory of room " + roomId
+                        + " did not hold reservation " + id + " on every night");
+            reservation.setStatus(ReservationStatus.CANCELLED);
+            roomReservationRepository.save(reservation);
+            AfterCommit.run(() -> roomAvailabilityCalendar.refresh(roomId, checkIn, checkOut));
+        });
+    }
+
+    @Override
+    public boolean isRoomAvailable(long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        validateStay(checkInDate, checkOutDate);
+        return roomAvailabilityCalendar.isAvailable(roomId, checkInDate, checkOutDate);
+    }
+
+    private static long validateStay(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) throw new CustomServiceException(400, "Check in and check out dates are required");
+        if (checkIn.isBefore(LocalDate.now())) throw new CustomServiceException(400, "Check in date has already passed");
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (nights < 1 || nights > MAX_NIGHTS)
+            throw new CustomServiceException(400, "A stay must be between 1 and " + MAX_NIGHTS + " nights");
+        return nights;
+    }
+
+    /**
+     * Creates the missing inventory rows of a stay from the room's available count. Two
+     * requests creating the same night collide on the unique key; the loser reads again
+     * and finds the row there.
+     */
+    private void createInventory(long roomId, LocalDate checkIn, LocalDate checkOut) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Room room = roomRepository.findById(roomId).orElseThrow(() -> new CustomServiceException(404, "Room not found"));
+                    Set<LocalDate> existing = new HashSet<>(roomInventoryRepository.findNights(roomId, checkIn, checkOut));
+                    List<RoomInventory> missing = new ArrayList<>();
+                    for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+                        if (!existing.contains(night)) {
+                            missing.add(new RoomInventory(0, room, night, room.getAvailableCount(), 0));
+                        }
+                    }
+                    if (!missing.isEmpty()) roomInventoryRepository.saveAllAndFlush(missing);
+                });
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == INVENTORY_CREATE_ATTEMPTS) {
+                    System.out.println("ERROR: RoomReservationService.createInventory: " + e.getMessage());
+                    throw new CustomServiceException(503, "Room is busy, please try again", e);
+                }
+            }
+        }
+    }
+}
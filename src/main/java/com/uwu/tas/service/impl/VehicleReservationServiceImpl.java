@@ -0,0 +1,158 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.dto.reservation.AvailableVehicleDto;
+import com.uwu.tas.dto.reservation.VehicleReservationDto;
+import com.uwu.tas.dto.reservation.VehicleSearchDto;
+import com.uwu.tas.entity.PublicUser;
+import com.uwu.tas.entity.ReservationVehicleDetail;
+import com.uwu.tas.entity.Vehicle;
+import com.uwu.tas.entity.VehicleReservation;
+import com.uwu.tas.enums.ReservationStatus;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.inventory.VehicleAvailabilityIndex;
+import com.uwu.tas.repository.PublicUserRepository;
+import com.uwu.tas.repository.ReservationVehicleDetailRepository;
+import com.uwu.tas.repository.VehicleRepository;
+import com.uwu.tas.repository.VehicleReservationRepository;
+import com.uwu.tas.repository.projection.VehicleDocument;
+import com.uwu.tas.service.VehicleReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.uwu.tas.constant.TASConstants.Reservation.MAX_RENTAL_DAYS;
+
+/**
+ * Vehicle rentals. Candidates come from {@link VehicleAvailabilityIndex}, best first; each
+ * is then tried under a row lock on the vehicle, which re-checks its bookings in the
+ * database before saving, so two rentals can never take the same vehicle for overlapping
+ * dates. A candidate taken in the meantime is skipped for the next one.
+ */
+@Service
+@RequiredArgsConstructor
+public class VehicleReservationServiceImpl implements VehicleReservationService {
+
+    private final VehicleRepository vehicleRepository;
+    private final VehicleReservationRepository vehicleReservationRepository;
+    private final ReservationVehicleDetailRepository reservationVehicleDetailRepository;
+    private final PublicUserRepository publicUserRepository;
+
+    private final VehicleAvailabilityIndex vehicleAvailabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public List<AvailableVehicleDto> getAvailableVehicles(VehicleSearchDto vehicleSearchDto) {
+        return findCandidates(vehicleSearchDto).stream()
+                .map(vehicle -> new AvailableVehicleDto(vehicle.getVehicleId(), vehicle.getName(), vehicle.getNoOfSeats(),
+                        vehicle.getGearType(), vehicle.isAirConditioning(), vehicle.isChildSeats(),
+                        vehicle.getVehicleTypeId(), vehicle.getRentalPricePerKm()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public VehicleReservationDto reserveVehicle(VehicleReservationDto vehicleReservationDto) {
+        VehicleSearchDto search = vehicleReservationDto.getVehicle();
+        if (search == null) throw new CustomServiceException(400, "Vehicle criteria are required");
+        List<VehicleDocument> candidates = findCandidates(search);
+        PublicUser publicUser = publicUserRepository.findById(vehicleReservationDto.getPublicUserId())
+                .orElseThrow(() -> new CustomServiceException(404, "User not found"));
+        int minSeats = search.getMinSeats() == null ? 1 : search.getMinSeats();
+
+        for (VehicleDocument candidate : candidates) {
+            ReservationVehicleDetail allocated = transactionTemplate.execute(status -> {
+                Vehicle vehicle = vehicleRepository.findAndLockById(candidate.getVehicleId()).orElse(null);
+                if (vehicle == null || !vehicle.isAvailability() || vehicle.getNoOfSeats() < minSeats
+                        || vehicle.getLocation() == null || vehicle.getLocation().getId() != search.getLocationId()) return null;
+                if (reservationVehicleDetailRepository.existsOverlapping(vehicle.getId(), ReservationStatus.CONFIRMED,
+                        search.getStartDate(), search.getEndDate())) return null;
+
+                // rentals are charged per km on return, so only the rate is fixed here
+                double pricePerKm = vehicle.getVehicleType() == null ? 0 : vehicle.getVehicleType().getRentalPricePerKm();
+
+                VehicleReservation reservation = new VehicleReservation();
+                reservation.setDateTime(LocalDateTime.now());
+                reservation.setStartDate(search.getStartDate());
+                reservation.setEndDate(search.getEndDate());
+                reservation.setPickupLocation(vehicleReservationDto.getPickupLocation());
+                reservation.setDropOffLocation(vehicleReservationDto.getDropOffLocation());
+                reservation.setStatus(ReservationStatus.CONFIRMED);
+                reservation.setPublicUser(publicUser);
+                vehicleReservationRepository.save(reservation);
+
+                ReservationVehicleDetail reservationVehicleDetail = new ReservationVehicleDetail();
+                reservationVehicleDetail.setPrice(pricePerKm);
+                reservationVehicleDetail.setStartDate(search.getStartDate());
+                reservationVehicleDetail.setEndDate(search.getEndDate());
+                reservationVehicleDetail.setStatus(ReservationStatus.CONFIRMED);
+                reservationVehicleDetail.setVehicle(vehicle);
+                reservationVehicleDetail.setVehicleReservation(reservation);
+                reservationVehicleDetailRepository.save(reservationVehicleDetail);
+                return reservationVehicleDetail;
+            });
+            if (allocated == null) {
+                System.out.println("INFO: VehicleReservationService.reserveVehicle: vehicle " + candidate.getVehicleId()
+                        + " was taken, trying the next candidate");
+                continue;
+            }
+            VehicleReservation vehicleReservation = allocated.getVehicleReservation();
+            vehicleReservationDto.setId(vehicleReservation.getId());
+            vehicleReservationDto.setVehicleId(candidate.getVehicleId());
+            vehicleReservationDto.setPricePerKm(allocated.getPrice());
+            vehicleReservationDto.setStatus(vehicleReservation.getStatus());
+            System.out.println("INFO: VehicleReservationService.reserveVehicle: Reservation " + vehicleReservation.getId()
+                    + " saved successfully with vehicle " + candidate.getVehicleId());
+            return vehicleReservationDto;
+        }
+        throw new CustomServiceException(409, "No vehicle is available for the selected dates");
+    }
+
+    @Override
+    public void cancelVehicleReservation(long id) {
+        transactionTemplate.executeWithoutResult(status -> {
+            VehicleReservation reservation = vehicleReservationRepository.findById(id)
+                    .orElseThrow(() -> new CustomServiceException(404, "Reservation not found"));
+            if (reservation.getStatus() != ReservationStatus.CONFIRMED)
+                throw new CustomServiceException(409, "Reservation is already cancelled");
+            reservation.setStatus(ReservationStatus.CANCELLED);
+            vehicleReservationRepository.save(reservation);
+            List<ReservationVehicleDetail> details = reservationVehicleDetailRepository.findByVehicleReservationId(id);
+            details.forEach(detail -> detail.setStatus(ReservationStatus.CANCELLED));
+            reservationVehicleDetailRepository.saveAll(details);
+        });
+    }
+
+    @Override
+    public boolean isVehicleAvailable(long vehicleId, LocalDate startDate, LocalDate endDate) {
+        validateRental(startDate, endDate);
+        return vehicleAvailabilityIndex.isAvailable(vehicleId, startDate, endDate);
+    }
+
+    private List<VehicleDocument> findCandidates(VehicleSearchDto search) {
+        validateRental(search.getStartDate(), search.getEndDate());
+        int minSeats = search.getMinSeats() == null ? 1 : search.getMinSeats();
+        if (minSeats < 1) throw new CustomServiceException(400, "Number of seats must be at least 1");
+
+        VehicleAvailabilityIndex.Criteria criteria = new VehicleAvailabilityIndex.Criteria();
+        criteria.setLocationId(search.getLocationId());
+        criteria.setMinSeats(minSeats);
+        criteria.setVehicleTypeId(search.getVehicleTypeId());
+        criteria.setGearType(search.getGearType());
+        criteria.setAirConditioning(search.getAirConditioning());
+        criteria.setChildSeats(search.getChildSeats());
+        return vehicleAvailabilityIndex.findAvailable(criteria, search.getStartDate(), search.getEndDate());
+    }
+
+    private static void validateRental(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) throw new CustomServiceException(400, "Pickup and return dates are required");
+        if (startDate.isBefore(LocalDate.now())) throw new CustomServiceException(400, "Pickup date has already passed");
+        long days = ChronoUnit.DAYS.between(startDate, endDate);
+        if (days < 1 || days > MAX_RENTAL_DAYS)
+            throw new CustomServiceException(400, "A rental must be between 1 and " + MAX_RENTAL_DAYS + " days");
+    }
+}
@@ -1,20 +1,18 @@
 package com.uwu.tas.service.impl;
 
+import com.uwu.tas.cache.VerificationCodeStore;
 import com.uwu.tas.dto.vendor.VendorCodeVerifyDto;
 import com.uwu.tas.dto.vendor.VendorRegisterDto;
 import com.uwu.tas.entity.Vendor;
 import com.uwu.tas.entity.VendorVerificationCode;
 import com.uwu.tas.exception.CustomServiceException;
 import com.uwu.tas.repository.VendorRepository;
-import com.uwu.tas.repository.VendorVerificationCodeRepository;
 import com.uwu.tas.service.VendorService;
 import com.uwu.tas.util.EmailSender;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -25,7 +23,7 @@ import java.util.Random;
 public class VendorServiceImpl implements VendorService {
 
     private final VendorRepository vendorRepository;
-    private final VendorVerificationCodeRepository vendorVerificationCodeRepository;
+    private final VerificationCodeStore verificationCodeStore;
 
     private final EmailSender emailSender;
 
@@ -57,20 +55,8 @@ public class VendorServiceImpl implements VendorService {
 
     private void sendVerificationCode(String email) {
 
-        Optional<VendorVerificationCode> optionalCode = vendorVerificationCodeRepository.findById(email);
-
-        if (optionalCode.isPresent()) {
-            if (optionalCode.get().getDateTime().plusSeconds(30).isAfter(LocalDateTime.now())) {
-                System.out.println("ERROR: VendorService.sendVerificationCode: Time between code generation is less than 30 seconds");
-                throw new CustomServiceException("Please wait 30 seconds from the last verification code");
-            }
-        }
-
-        VendorVerificationCode vendorVerificationCode = new VendorVerificationCode();
         String code = generateVerificationCode();
-        vendorVerificationCode.setCode(code);
-        vendorVerificationCode.setEmail(email);
-        vendorVerificationCodeRepository.save(vendorVerificationCode);
+        verificationCodeStore.save(email, code);
         System.out.println("INFO: VendorService.sendVerificationCode: Vendor verification code generated successfully");
 
         List<String> emails = new ArrayList<>();
@@ -93,7 +79,7 @@ public class VendorServiceImpl implements VendorService {
 
         Optional<Vendor> optionalVendor = vendorRepository.findByEmail(vendorCodeVerifyDto.getEmail());
         if (optionalVendor.isPresent()) {
-            Optional<VendorVerificationCode> optionalCode = vendorVerificationCodeRepository.findById(vendorCodeVerifyDto.getEmail());
+            Optional<VendorVerificationCode> optionalCode = verificationCodeStore.find(vendorCodeVerifyDto.getEmail());
             if (!optionalCode.isPresent()) {
                 System.out.println("ERROR: VendorService.checkVerificationCode: Verification code not found");
                 throw new CustomServiceException(404, "No verification code for given vendor");
@@ -101,8 +87,7 @@ public class VendorServiceImpl implements VendorService {
 
             VendorVerificationCode vendorVerificationCode = optionalCode.get();
 
-            long hours = ChronoUnit.HOURS.between(vendorVerificationCode.getDateTime(), LocalDateTime.now());
-            if (hours >= 24) {
+            if (verificationCodeStore.isExpired(vendorVerificationCode)) {
                 System.out.println("ERROR: VendorService.checkVerificationCode: Verification code is expired");
                 throw new CustomServiceException(403, "Verification code is expired, please re-send");
             }
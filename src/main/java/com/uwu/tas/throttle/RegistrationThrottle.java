@@ -0,0 +1,47 @@
+package com.uwu.tas.throttle;
+
+import com.uwu.tas.exception.CustomServiceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limits how often verification codes may be requested, per email address and per client
+ * address, without touching the database.
+ */
+@Component
+public class RegistrationThrottle {
+
+    private final Duration emailWindow;
+    private final SlidingWindowRateLimiter emailLimiter;
+    private final SlidingWindowRateLimiter clientLimiter;
+
+    public RegistrationThrottle(@Value("${tas.throttle.verification.email.limit:1}") int emailLimit,
+                                @Value("${tas.throttle.verification.email.window:30s}") Duration emailWindow,
+                                @Value("${tas.throttle.verification.client.limit:10}") int clientLimit,
+                                @Value("${tas.throttle.verification.client.window:1m}") Duration clientWindow) {
+        this.emailWindow = emailWindow;
+        this.emailLimiter = new SlidingWindowRateLimiter(emailLimit, emailWindow.toMillis());
+        this.clientLimiter = new SlidingWindowRateLimiter(clientLimit, clientWindow.toMillis());
+    }
+
+    public void checkVerificationCodeRequest(String email, String clientAddress) {
+        if (clientAddress != null && !clientLimiter.tryAcquire(clientAddress)) {
+            System.out.println("ERROR: RegistrationThrottle.checkVerificationCodeRequest: Too many requests from " + clientAddress);
+            throw new CustomServiceException(429, "Too many requests, please try again later");
+        }
+        if (!emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT))) {
+            System.out.println("ERROR: RegistrationThrottle.checkVerificationCodeRequest: Time between code generation is less than the limit");
+            throw new CustomServiceException("Please wait " + emailWindow.getSeconds() + " seconds from the last verification code");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tas.throttle.purge-interval:60000}")
+    public void purge() {
+        emailLimiter.purge();
+        clientLimiter.purge();
+    }
+}
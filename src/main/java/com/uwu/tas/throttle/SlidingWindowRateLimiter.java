@@ -0,0 +1,87 @@
+package com.uwu.tas.throttle;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allows at most {@code limit} acquisitions per key within any window of {@code windowMillis}.
+ * Keys are spread over a fixed number of lock stripes, so callers only contend with other
+ * callers whose keys hash to the same stripe. Idle keys are dropped by {@link #purge()}.
+ */
+public class SlidingWindowRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final int limit;
+    private final long windowMillis;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public SlidingWindowRateLimiter(int limit, long windowMillis) {
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.currentTimeMillis());
+    }
+
+    boolean tryAcquire(String key, long now) {
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        stripe.lock.lock();
+        try {
+            ArrayDeque<Long> acquisitions = stripe.acquisitions.computeIfAbsent(key, k -> new ArrayDeque<>(limit));
+            while (!acquisitions.isEmpty() && acquisitions.peekFirst() <= now - windowMillis) {
+                acquisitions.pollFirst();
+            }
+            if (acquisitions.size() >= limit) return false;
+            acquisitions.addLast(now);
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void purge() {
+        purge(System.currentTimeMillis());
+    }
+
+    void purge(long now) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Iterator<ArrayDeque<Long>> iterator = stripe.acquisitions.values().iterator();
+                while (iterator.hasNext()) {
+                    ArrayDeque<Long> acquisitions = iterator.next();
+                    if (acquisitions.isEmpty() || acquisitions.peekLast() <= now - windowMillis) iterator.remove();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.acquisitions.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, ArrayDeque<Long>> acquisitions = new HashMap<>();
+    }
+}
@@ -0,0 +1,29 @@
+package com.uwu.tas.util;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.function.Consumer;
+
+/**
+ * Base of entity listeners that apply committed writes to an in-memory bean. Listeners are
+ * created while the entity manager factory is being built, before beans that depend on it
+ * exist, so the target is looked up only when a write happens.
+ */
+public abstract class AfterCommitEntityListener<T> {
+
+    private final ObjectProvider<T> target;
+
+    protected AfterCommitEntityListener(ObjectProvider<T> target) {
+        this.target = target;
+    }
+
+    /**
+     * Applies the update once the current transaction commits. Skipped while the target
+     * does not exist yet, e.g. for writes during startup; it loads its state itself.
+     */
+    protected void afterCommit(Consumer<T> update) {
+        T bean = target.getIfAvailable();
+        if (bean == null) return;
+        AfterCommit.run(() -> update.accept(bean));
+    }
+}
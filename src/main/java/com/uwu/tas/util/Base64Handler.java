@@ -3,18 +3,88 @@ package com.uwu.tas.util;
 import com.uwu.tas.exception.CustomServiceException;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Base64;
 
 @Component
 public class Base64Handler {
 
+    public static final long MAX_FILE_SIZE = 15000000;
+
     public byte[] getByteArrayFromBase64(String base64File) {
+        try (InputStream in = getInputStreamFromBase64(base64File)) {
+            byte[] file = new byte[(int) getDecodedSize(base64File, base64File.indexOf(',') + 1)];
+            int read = 0;
+            while (read < file.length) {
+                int count = in.read(file, read, file.length - read);
+                if (count < 0) throw new CustomServiceException("Invalid base64 data.");
+                read += count;
+            }
+            return file;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new CustomServiceException("Invalid base64 data.", e);
+        }
+    }
+
+    /**
+     * Decodes a base64 data URI lazily, straight from the request string, so no copy of
+     * the payload is made. The size limit is checked from the encoded length up front.
+     */
+    public InputStream getInputStreamFromBase64(String base64File) {
         if (base64File == null || !base64File.startsWith("data:"))
             throw new CustomServiceException("Invalid base64 data.");
-        String b64 = base64File.split(",", 2)[1];
-        byte[] file = Base64.getDecoder().decode(b64.getBytes(StandardCharsets.UTF_8));
-        if (file.length > 15000000) throw new CustomServiceException("File size is larger than 15Mb!");
-        return file;
+        int start = base64File.indexOf(',') + 1;
+        if (start == 0) throw new CustomServiceException("Invalid base64 data.");
+        if (getDecodedSize(base64File, start) > MAX_FILE_SIZE)
+            throw new CustomServiceException("File size is larger than 15Mb!");
+        return Base64.getDecoder().wrap(new CharSequenceInputStream(base64File, start));
+    }
+
+    private long getDecodedSize(String base64File, int start) {
+        int end = base64File.length();
+        int padding = 0;
+        while (end > start && padding < 2 && base64File.charAt(end - 1) == '=') {
+            end--;
+            padding++;
+        }
+        long encoded = base64File.length() - start;
+        return encoded / 4 * 3 - padding;
+    }
+
+    /**
+     * Reads the (ASCII) characters of a string from an offset as bytes.
+     */
+    private static final class CharSequenceInputStream extends InputStream {
+
+        private final CharSequence chars;
+        private int position;
+
+        private CharSequenceInputStream(CharSequence chars, int position) {
+            this.chars = chars;
+            this.position = position;
+        }
+
+        @Override
+        public int read() {
+            return position < chars.length() ? chars.charAt(position++) & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) return 0;
+            int available = chars.length() - position;
+            if (available <= 0) return -1;
+            int count = Math.min(length, available);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) chars.charAt(position++);
+            }
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return chars.length() - position;
+        }
     }
 }
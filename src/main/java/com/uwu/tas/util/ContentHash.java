@@ -0,0 +1,32 @@
+package com.uwu.tas.util;
+
+import com.uwu.tas.exception.CustomServiceException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new CustomServiceException("Image hashing is not available", e);
+        }
+    }
+
+    public static String of(byte[] content) {
+        return toHex(newDigest().digest(content));
+    }
+
+    public static String toHex(byte[] digest) {
+        StringBuilder builder = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.uwu.tas.util;
+
+import com.uwu.tas.exception.CustomServiceException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.uwu.tas.constant.TASConstants.Page.MAX_SIZE;
+
+/**
+ * Encodes keyset pagination positions (the sort key values of the last row of a page)
+ * into opaque URL safe tokens.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\u0000";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... values) {
+        String joined = String.join(SEPARATOR, values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedValues) {
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = joined.split(SEPARATOR, -1);
+            if (values.length != expectedValues) throw new IllegalArgumentException();
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new CustomServiceException(400, "Invalid cursor");
+        }
+    }
+
+    /**
+     * Decodes a cursor holding the offset of the next page of ranked results. Negative offsets
+     * and offsets too large to add a page to are rejected.
+     */
+    public static int decodeOffset(String cursor) {
+        try {
+            int offset = Integer.parseInt(decode(cursor, 1)[0]);
+            if (offset < 0 || offset > Integer.MAX_VALUE - MAX_SIZE - 1) throw new NumberFormatException();
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new CustomServiceException(400, "Invalid cursor");
+        }
+    }
+}
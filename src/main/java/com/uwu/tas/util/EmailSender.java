@@ -1,29 +1,32 @@
 package com.uwu.tas.util;
 
+import com.uwu.tas.entity.OutboxEmail;
+import com.uwu.tas.enums.OutboxStatus;
+import com.uwu.tas.repository.OutboxEmailRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Queues emails in the outbox table as part of the caller's transaction; they are delivered
+ * by {@link com.uwu.tas.mail.EmailOutboxDispatcher} once the transaction has committed, so
+ * callers never wait on the mail server and rolled back work sends nothing.
+ */
 @Component
 @RequiredArgsConstructor
 public class EmailSender {
 
-    private final JavaMailSender javaMailSender;
+    private final OutboxEmailRepository outboxEmailRepository;
 
-    @Async
     public void sendEmail(List<String> addresses, String subject, String body) {
-//        log.info("\nNormal mail: Addresses: {} \nSubject: {}", addresses, subject);
-        SimpleMailMessage msg = new SimpleMailMessage();
-        msg.setTo(addresses.toArray(new String[0]));
-
-        msg.setSubject(subject);
-        msg.setText(body);
-
-        javaMailSender.send(msg);
-
+        OutboxEmail email = new OutboxEmail();
+        email.setRecipients(String.join(",", addresses));
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setStatus(OutboxStatus.PENDING);
+        email.setNextAttemptDateTime(LocalDateTime.now());
+        outboxEmailRepository.save(email);
     }
 }
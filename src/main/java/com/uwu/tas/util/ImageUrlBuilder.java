@@ -0,0 +1,40 @@
+package com.uwu.tas.util;
+
+import static com.uwu.tas.constant.TASConstants.Image.VERSION_LENGTH;
+import static com.uwu.tas.constant.TASConstants.Image.VERSION_PARAM;
+import static com.uwu.tas.constant.TASConstants.Image.WIDTH_PARAM;
+
+public final class ImageUrlBuilder {
+
+    private ImageUrlBuilder() {
+    }
+
+    /**
+     * Builds an image URL versioned with the content hash, so the URL changes whenever
+     * the image does and clients can cache it forever.
+     */
+    public static String build(String baseUrl, long id, String imageKey) {
+        return build(baseUrl, id, imageKey, null);
+    }
+
+    /**
+     * Same as {@link #build(String, long, String)}, asking for the derivative closest to
+     * the given width, e.g. thumbnails for list screens.
+     */
+    public static String build(String baseUrl, long id, String imageKey, Integer width) {
+        String url = baseUrl + "/" + id;
+        String separator = "?";
+        if (imageKey != null) {
+            url += separator + VERSION_PARAM + "=" + version(imageKey);
+            separator = "&";
+        }
+        if (width != null) {
+            url += separator + WIDTH_PARAM + "=" + width;
+        }
+        return url;
+    }
+
+    public static String version(String imageKey) {
+        return imageKey.length() > VERSION_LENGTH ? imageKey.substring(0, VERSION_LENGTH) : imageKey;
+    }
+}
@@ -0,0 +1,54 @@
+package com.uwu.tas.cache;
+
+import com.uwu.tas.dto.location.LocationDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LocationDetailCacheTests {
+
+    private final LocationDetailCache cache = new LocationDetailCache(100, Duration.ofMinutes(30));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesSnapshotUntilEvicted() {
+        LocationDto first = cache.get(1, this::load);
+        assertSame(first, cache.get(1, this::load));
+        cache.get(2, this::load);
+        assertEquals(2, loads.get());
+
+        cache.evict(1);
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        assertEquals(3, loads.get());
+
+        cache.evictAll();
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void snapshotAssembledBeforeConcurrentCommitIsNotServed() {
+        cache.get(1, id -> {
+            // a write to the same location commits while this snapshot is being assembled
+            cache.evict(id);
+            return load(id);
+        });
+        cache.get(1, this::load);
+        assertEquals(2, loads.get());
+        cache.get(1, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private LocationDto load(long id) {
+        loads.incrementAndGet();
+        LocationDto location = new LocationDto();
+        location.setId(id);
+        return location;
+    }
+}
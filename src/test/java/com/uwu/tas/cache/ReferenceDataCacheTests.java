@@ -0,0 +1,52 @@
+package com.uwu.tas.cache;
+
+import com.uwu.tas.dto.province.ProvinceDto;
+import com.uwu.tas.service.impl.ProvinceServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ReferenceDataCache.class, ProvinceServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTests {
+
+    @Autowired
+    private ProvinceServiceImpl provinceService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void readsHitCacheUntilCommittedWrite() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        provinceService.saveProvince(new ProvinceDto(0, "Central"));
+        statistics.clear();
+
+        assertEquals(1, provinceService.getAllProvince().size());
+        assertEquals(1, provinceService.getAllProvinceNames().size());
+        provinceService.getAllProvince();
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        provinceService.saveProvince(new ProvinceDto(0, "Southern"));
+        assertEquals(2, provinceService.getAllProvinceNames().size());
+
+        assertEquals(2L, referenceDataCache.getStats().get("missCount"));
+        assertEquals(2L, referenceDataCache.getStats().get("hitCount"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.uwu.tas.config;
+
+import com.uwu.tas.entity.Activity;
+import com.uwu.tas.entity.Location;
+import com.uwu.tas.entity.Province;
+import com.uwu.tas.enums.VisibilityStatus;
+import com.uwu.tas.repository.ActivityRepository;
+import com.uwu.tas.repository.LocationRepository;
+import com.uwu.tas.repository.ProvinceRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HibernateCacheConfigTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private ProvinceRepository provinceRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void provinceHopsResolveFromSecondLevelCache() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int p = 0; p < 3; p++) {
+                Province province = new Province();
+                province.setName("Province " + p);
+                provinceRepository.save(province);
+                for (int l = 0; l < 10; l++) {
+                    Location location = new Location();
+                    location.setName("Location " + p + "-" + l);
+                    location.setProvince(province);
+                    locationRepository.save(location);
+                }
+            }
+        });
+
+        // first pass loads each province once and puts it in the cache
+        readProvinceNames();
+        statistics.clear();
+        readProvinceNames();
+
+        CacheRegionStatistics provinces = statistics.getDomainDataRegionStatistics(Province.class.getName());
+        System.out.println("HibernateCacheConfigTests: province region hits " + provinces.getHitCount()
+                + ", misses " + provinces.getMissCount() + ", hit ratio "
+                + provinces.getHitCount() / (double) Math.max(1, provinces.getHitCount() + provinces.getMissCount()));
+        assertEquals(0, provinces.getMissCount());
+        assertTrue(provinces.getHitCount() >= 3);
+        assertEquals(1, statistics.getPrepareStatementCount(), "only the location query should reach the database");
+    }
+
+    @Test
+    void visibleActivitiesComeFromQueryCache() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 5; i++) {
+                Activity activity = new Activity();
+                activity.setActivityName("Activity " + i);
+                activity.setVisibilityStatus(VisibilityStatus.VISIBLE);
+                activityRepository.save(activity);
+            }
+        });
+
+        activityRepository.findByVisibilityStatus(VisibilityStatus.VISIBLE);
+        statistics.clear();
+        List<Activity> activities = activityRepository.findByVisibilityStatus(VisibilityStatus.VISIBLE);
+
+        assertEquals(5, activities.size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private void readProvinceNames() {
+        transactionTemplate.executeWithoutResult(status ->
+                locationRepository.findAll().forEach(location -> location.getProvince().getName()));
+    }
+}
@@ -0,0 +1,98 @@
+package com.uwu.tas.controller.file;
+
+import com.uwu.tas.service.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImageController.class)
+class ImageControllerTests {
+
+    private static final String KEY = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FileService fileService;
+
+    @BeforeEach
+    void setUp() {
+        when(fileService.getLocationImageKey(1)).thenReturn(KEY);
+        when(fileService.resolveImageKey(eq(KEY), any())).thenReturn(KEY);
+        when(fileService.getImage(KEY)).thenReturn(new ByteArrayResource("0123456789".getBytes()));
+    }
+
+    @Test
+    void widthSelectsDerivative() throws Exception {
+        when(fileService.resolveImageKey(KEY, 200)).thenReturn(KEY + "_480");
+        when(fileService.getImage(KEY + "_480")).thenReturn(new ByteArrayResource("small".getBytes()));
+        mockMvc.perform(get("/file/image/location/1").param("v", KEY.substring(0, 16)).param("w", "200"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + KEY + "_480\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(content().string("small"));
+    }
+
+    @Test
+    void versionedImageIsImmutable() throws Exception {
+        mockMvc.perform(get("/file/image/location/1").param("v", KEY.substring(0, 16)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + KEY + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void widthAboveLargestDerivativeIsImmutableOriginal() throws Exception {
+        mockMvc.perform(get("/file/image/location/1").param("v", KEY.substring(0, 16)).param("w", "4000"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + KEY + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"));
+    }
+
+    @Test
+    void partialVersionIsNotImmutable() throws Exception {
+        mockMvc.perform(get("/file/image/location/1").param("v", KEY.substring(0, 1)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void missingVersionedImageIsNotCached() throws Exception {
+        when(fileService.getImage(KEY)).thenReturn(null);
+        mockMvc.perform(get("/file/image/location/1").param("v", KEY.substring(0, 16)))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+
+    @Test
+    void matchingEtagIsAnsweredWithoutLoadingImage() throws Exception {
+        mockMvc.perform(get("/file/image/location/1").header(HttpHeaders.IF_NONE_MATCH, "\"" + KEY + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        verify(fileService, never()).getImage(anyString());
+    }
+
+    @Test
+    void byteRangeIsServedPartially() throws Exception {
+        mockMvc.perform(get("/file/image/location/1").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+        mockMvc.perform(get("/file/image/location/1").header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+}
@@ -0,0 +1,30 @@
+package com.uwu.tas.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VehicleAvailabilityIndexTests {
+
+    private static final LocalDate PICKUP = LocalDate.of(2030, 3, 3);
+
+    @Test
+    void releaseOnlyRemovesItsOwnBooking() {
+        VehicleAvailabilityIndex index = new VehicleAvailabilityIndex(null, null);
+        index.book(1, 10, PICKUP, PICKUP.plusDays(6));
+
+        // rebooked from the same pickup date, with the cancellation applied last
+        index.book(1, 11, PICKUP, PICKUP.plusDays(4));
+        index.release(1, 10);
+
+        assertFalse(index.isAvailable(1, PICKUP.plusDays(2), PICKUP.plusDays(3)));
+        assertTrue(index.isAvailable(1, PICKUP.plusDays(4), PICKUP.plusDays(6)));
+
+        index.release(1, 11);
+
+        assertTrue(index.isAvailable(1, PICKUP, PICKUP.plusDays(6)));
+    }
+}
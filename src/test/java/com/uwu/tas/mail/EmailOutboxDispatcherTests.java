@@ -0,0 +1,152 @@
+package com.uwu.tas.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.uwu.tas.config.AsyncConfig;
+import com.uwu.tas.entity.OutboxEmail;
+import com.uwu.tas.enums.OutboxStatus;
+import com.uwu.tas.repository.OutboxEmailRepository;
+import com.uwu.tas.util.EmailSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "tas.mail.outbox.batch-size=10",
+        "tas.mail.outbox.workers=2",
+        "tas.mail.outbox.max-attempts=2",
+        "tas.mail.outbox.initial-backoff=0s"
+})
+@Import({EmailSender.class, EmailOutboxDispatcher.class, AsyncConfig.class, EmailOutboxDispatcherTests.SmtpConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDispatcherTests {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailSender emailSender;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        outboxEmailRepository.deleteAll();
+    }
+
+    @Test
+    void deliversQueuedEmailsInBatches() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 25; i++) {
+                emailSender.sendEmail(Collections.singletonList("vendor" + i + "@example.com"), "Verification Code", "code " + i);
+            }
+        });
+        assertEquals(0, smtp.getReceivedMessages().length);
+
+        long batches = (long) dispatcher.getStats().get("batchCount");
+        dispatcher.dispatch();
+        assertEquals(20, smtp.getReceivedMessages().length);
+        dispatcher.dispatch();
+
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertEquals(25, received.length);
+        assertEquals("Verification Code", received[0].getSubject());
+        assertEquals(3, (long) dispatcher.getStats().get("batchCount") - batches);
+        assertEquals(25, outboxEmailRepository.countByStatus(OutboxStatus.SENT));
+    }
+
+    @Test
+    void rolledBackTransactionSendsNothing() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailSender.sendEmail(Collections.singletonList("vendor@example.com"), "Verification Code", "code");
+            status.setRollbackOnly();
+        });
+        dispatcher.dispatch();
+        assertEquals(0, smtp.getReceivedMessages().length);
+    }
+
+    @Test
+    void retriesThenDeadLettersWhenServerIsDown() {
+        smtp.stop();
+        emailSender.sendEmail(Collections.singletonList("vendor@example.com"), "Verification Code", "code");
+
+        dispatcher.dispatch();
+        OutboxEmail email = outboxEmailRepository.findAll().get(0);
+        assertEquals(OutboxStatus.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+
+        dispatcher.dispatch();
+        email = outboxEmailRepository.findAll().get(0);
+        assertEquals(OutboxStatus.DEAD, email.getStatus());
+        assertEquals(2, email.getAttempts());
+    }
+
+    @Test
+    void unsendableEmailIsRetriedWithoutBlockingOthers() {
+        OutboxEmail poison = new OutboxEmail();
+        poison.setSubject("Verification Code");
+        poison.setStatus(OutboxStatus.PENDING);
+        poison.setNextAttemptDateTime(LocalDateTime.now().minusMinutes(1));
+        long poisonId = outboxEmailRepository.save(poison).getId();
+        emailSender.sendEmail(Collections.singletonList("vendor@example.com"), "Verification Code", "code");
+
+        dispatcher.dispatch();
+        assertEquals(1, smtp.getReceivedMessages().length);
+        poison = outboxEmailRepository.findById(poisonId).get();
+        assertEquals(OutboxStatus.PENDING, poison.getStatus());
+        assertEquals(1, poison.getAttempts());
+
+        dispatcher.dispatch();
+        assertEquals(OutboxStatus.DEAD, outboxEmailRepository.findById(poisonId).get().getStatus());
+    }
+
+    @Test
+    void emailsClaimedByAnotherDispatcherAreSkipped() {
+        emailSender.sendEmail(Collections.singletonList("vendor@example.com"), "Verification Code", "code");
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxEmailRepository.findDueIds(now, PageRequest.of(0, 10));
+        assertEquals(1, outboxEmailRepository.claim(ids, "other-instance", now, now.plusMinutes(5)));
+
+        dispatcher.dispatch();
+        assertEquals(0, smtp.getReceivedMessages().length);
+        assertEquals(0, outboxEmailRepository.claim(ids, "another-instance", now, now.plusMinutes(5)));
+    }
+
+    @TestConfiguration
+    static class SmtpConfig {
+
+        @Bean
+        public JavaMailSender javaMailSender() {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+    }
+}
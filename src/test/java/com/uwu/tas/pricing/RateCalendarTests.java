@@ -0,0 +1,97 @@
+package com.uwu.tas.pricing;
+
+import com.uwu.tas.repository.projection.RoomPackageRateDocument;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateCalendarTests {
+
+    @Test
+    void laterRatesOverrideEarlierOnesAndGapsUseBasePrice() {
+        List<Rate> rates = Arrays.asList(
+                new Rate(1, date(2022, 12, 20), date(2023, 1, 5), 150, 0),
+                new Rate(2, date(2022, 12, 24), date(2022, 12, 27), 200, 20),
+                new Rate(3, date(2023, 1, 1), date(2023, 1, 10), 120, 0));
+        RateCalendar calendar = new RateCalendar(7, 1, 100, 10, rates);
+
+        RateQuote quote = calendar.quote(date(2022, 12, 18), date(2023, 1, 8));
+
+        assertEquals(21, quote.getNights());
+        assertEquals(2 * 90 + 4 * 150 + 3 * 180 + 5 * 150 + 7 * 120, quote.getTotalPrice());
+        assertEquals(90, calendar.quote(date(2022, 6, 1), date(2022, 6, 2)).getTotalPrice());
+        assertEquals(180 + 150, calendar.quote(date(2022, 12, 26), date(2022, 12, 28)).getTotalPrice());
+    }
+
+    @Test
+    void matchesNightByNightPricing() {
+        Random random = new Random(11);
+        LocalDate first = date(2023, 1, 1);
+        List<Rate> rates = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            LocalDate start = first.plusDays(random.nextInt(365));
+            rates.add(new Rate(i, start, start.plusDays(1 + random.nextInt(40)), 50 + random.nextInt(200), random.nextInt(50)));
+        }
+        RateCalendar calendar = new RateCalendar(1, 1, 80, 0, rates);
+
+        for (int i = 0; i < 1000; i++) {
+            LocalDate checkIn = first.plusDays(random.nextInt(400) - 20);
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(30));
+            double expected = 0;
+            for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+                expected += nightlyPrice(rates, night, 80);
+            }
+            assertEquals(expected, calendar.quote(checkIn, checkOut).getTotalPrice(), 1e-6);
+        }
+    }
+
+    @Test
+    void calendarWithoutRatesChargesBasePrice() {
+        RateCalendar calendar = new RateCalendar(1, 3, 120, 20, Collections.emptyList());
+
+        RateQuote quote = calendar.quote(date(2022, 3, 1), date(2022, 3, 4));
+
+        assertEquals(300, quote.getTotalPrice());
+        assertEquals(100, quote.getNightlyPrice());
+        assertEquals(3, calendar.getVersion());
+    }
+
+    private static double nightlyPrice(List<Rate> rates, LocalDate night, double basePrice) {
+        double price = basePrice;
+        for (Rate rate : rates) {
+            if (!night.isBefore(rate.startDate) && night.isBefore(rate.endDate)) {
+                price = Math.max(0, rate.price - rate.discount);
+            }
+        }
+        return price;
+    }
+
+    private static LocalDate date(int year, int month, int day) {
+        return LocalDate.of(year, month, day);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Rate implements RoomPackageRateDocument {
+
+        private final long id;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final double price;
+        private final double discount;
+
+        @Override
+        public long getRoomPackageId() {
+            return 1;
+        }
+    }
+}
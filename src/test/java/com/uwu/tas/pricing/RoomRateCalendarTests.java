@@ -0,0 +1,53 @@
+package com.uwu.tas.pricing;
+
+import com.uwu.tas.cache.RateQuoteCache;
+import com.uwu.tas.dto.accommodation.RoomPackageRateDto;
+import com.uwu.tas.entity.RoomPackage;
+import com.uwu.tas.repository.RoomPackageRepository;
+import com.uwu.tas.service.impl.RoomPackageRateServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({RoomPackageRateServiceImpl.class, RoomRateCalendar.class, RateQuoteCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomRateCalendarTests {
+
+    @Autowired
+    private RoomPackageRateServiceImpl roomPackageRateService;
+
+    @Autowired
+    private RoomRateCalendar roomRateCalendar;
+
+    @Autowired
+    private RoomPackageRepository roomPackageRepository;
+
+    @Test
+    void committedRateChangesReplaceCachedQuotes() {
+        RoomPackage roomPackage = new RoomPackage();
+        roomPackage.setPrice(100);
+        roomPackage.setDiscount(10);
+        roomPackageRepository.save(roomPackage);
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        LocalDate checkOut = checkIn.plusDays(3);
+        assertEquals(270, roomRateCalendar.quote(roomPackage.getId(), checkIn, checkOut).getTotalPrice());
+
+        RoomPackageRateDto rate = new RoomPackageRateDto(0, roomPackage.getId(), checkIn.plusDays(1), checkIn.plusDays(2), 200, 0);
+        long rateId = roomPackageRateService.saveRate(rate).getId();
+
+        assertEquals(90 + 200 + 90, roomRateCalendar.quote(roomPackage.getId(), checkIn, checkOut).getTotalPrice());
+
+        roomRateCalendar.rebuild();
+        roomPackageRateService.deleteRate(rateId);
+
+        assertEquals(270, roomRateCalendar.quote(roomPackage.getId(), checkIn, checkOut).getTotalPrice());
+    }
+}
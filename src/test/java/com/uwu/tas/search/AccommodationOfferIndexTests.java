@@ -0,0 +1,120 @@
+package com.uwu.tas.search;
+
+import com.uwu.tas.enums.AccommodationSort;
+import com.uwu.tas.repository.projection.RoomOfferDocument;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccommodationOfferIndexTests {
+
+    @Test
+    void returnsCheapestMatchingPackagePerAccommodation() {
+        List<Document> documents = Arrays.asList(
+                new Document(1, 2, 100, 0, 10, "Standard", 1, "Near", 7.00, 80.00, true, false, false, 4),
+                new Document(2, 4, 180, 30, 11, "Family", 1, "Near", 7.00, 80.00, true, false, false, 4),
+                new Document(3, 2, 60, 0, 20, "Dorm", 2, "Far", 7.05, 80.00, false, false, true, 5),
+                new Document(4, 4, 90, 0, 30, "Suite", 3, "Outside", 8.00, 80.00, true, true, true, 5));
+        AccommodationOfferIndex index = new AccommodationOfferIndex(documents);
+
+        AccommodationOfferIndex.Criteria criteria = criteria(7.00, 80.00, 10);
+        criteria.setPeople(3);
+        List<AccommodationOfferIndex.Result> results = index.search(criteria, roomId -> true);
+        assertEquals(1, results.size());
+        assertEquals(2, results.get(0).getOffer().getRoomPackageId());
+        assertEquals(150, results.get(0).getOffer().getPrice());
+
+        criteria.setPeople(1);
+        criteria.setSort(AccommodationSort.PRICE);
+        assertEquals(Arrays.asList(2L, 1L), accommodationIds(index.search(criteria, roomId -> true)));
+        assertEquals(Arrays.asList(2L), accommodationIds(index.search(criteria, roomId -> roomId == 20)));
+
+        criteria.setParking(true);
+        criteria.setMaxPrice(90.0);
+        assertTrue(index.search(criteria, roomId -> true).isEmpty());
+    }
+
+    /**
+     * 50k rooms with two packages each across Sri Lanka: searches with a 25 km radius stay
+     * well inside the 100 ms budget.
+     */
+    @Test
+    void searchLatencyAtFiftyThousandRooms() {
+        Random random = new Random(11);
+        List<Document> documents = new ArrayList<>();
+        long roomId = 0;
+        long packageId = 0;
+        for (long accommodationId = 1; accommodationId <= 5000; accommodationId++) {
+            double latitude = 6 + random.nextDouble() * 3.8;
+            double longitude = 79.7 + random.nextDouble() * 2.1;
+            boolean parking = random.nextBoolean();
+            double rating = random.nextInt(51) / 10.0;
+            for (int room = 0; room < 10; room++) {
+                roomId++;
+                for (int people = 2; people <= 4; people += 2) {
+                    documents.add(new Document(++packageId, people, 50 + random.nextInt(300), random.nextInt(20), roomId,
+                            "Room " + roomId, accommodationId, "Hotel " + accommodationId, latitude, longitude,
+                            parking, false, false, rating));
+                }
+            }
+        }
+        AccommodationOfferIndex index = new AccommodationOfferIndex(documents);
+
+        long[] nanos = new long[300];
+        for (int i = -50; i < nanos.length; i++) {
+            AccommodationOfferIndex.Criteria criteria = criteria(6.5 + random.nextDouble() * 2.8, 80 + random.nextDouble() * 1.5, 25);
+            criteria.setPeople(3);
+            criteria.setMaxPrice(250.0);
+            criteria.setParking(true);
+            long start = System.nanoTime();
+            index.search(criteria, id -> id % 7 != 0);
+            if (i >= 0) nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double p95Millis = nanos[(int) (nanos.length * 0.95)] / 1e6;
+        System.out.println("AccommodationOfferIndexTests: p95 search " + p95Millis + "ms over " + index.getOfferCount() + " packages");
+        assertTrue(p95Millis < 100, "p95 " + p95Millis + "ms");
+    }
+
+    private static AccommodationOfferIndex.Criteria criteria(double latitude, double longitude, double radiusKm) {
+        AccommodationOfferIndex.Criteria criteria = new AccommodationOfferIndex.Criteria();
+        criteria.setLatitude(latitude);
+        criteria.setLongitude(longitude);
+        criteria.setRadiusKm(radiusKm);
+        criteria.setPeople(1);
+        return criteria;
+    }
+
+    private static List<Long> accommodationIds(List<AccommodationOfferIndex.Result> results) {
+        return results.stream().map(AccommodationOfferIndex.Result::getAccommodationId).collect(Collectors.toList());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Document implements RoomOfferDocument {
+
+        private final long roomPackageId;
+        private final int noOfPeople;
+        private final double price;
+        private final double discount;
+        private final long roomId;
+        private final String roomName;
+        private final long accommodationId;
+        private final String accommodationName;
+        private final double latitude;
+        private final double longitude;
+        private final boolean parking;
+        private final boolean smoking;
+        private final boolean pets;
+        private final double rating;
+    }
+}
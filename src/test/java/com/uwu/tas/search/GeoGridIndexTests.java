@@ -0,0 +1,78 @@
+package com.uwu.tas.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static com.uwu.tas.constant.TASConstants.Nearby.CELL_DEGREES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoGridIndexTests {
+
+    private static final int POINTS = 100000;
+    private static final int QUERIES = 2000;
+
+    @Test
+    void matchesBruteForceAcrossAntimeridian() {
+        GeoGridIndex index = new GeoGridIndex(CELL_DEGREES);
+        index.put(1, "east", 0, 179.95);
+        index.put(2, "west", 0, -179.95);
+        index.put(3, "far", 0, 178);
+        index.put(2, "west", 0, -179.9);
+
+        List<Long> ids = index.within(0, 179.99, 20, 10).stream()
+                .map(hit -> hit.getPoint().getId()).collect(Collectors.toList());
+        assertEquals(Arrays.asList(1L, 2L), ids);
+
+        index.remove(1);
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * Radius queries over 100k points spread across Sri Lanka, the density the map view
+     * has to cope with. Results must equal a brute-force haversine scan.
+     */
+    @Test
+    void radiusQueriesOverHundredThousandPoints() {
+        Random random = new Random(3);
+        GeoGridIndex index = new GeoGridIndex(CELL_DEGREES);
+        double[][] points = new double[POINTS][];
+        for (int i = 0; i < POINTS; i++) {
+            points[i] = new double[]{5.9 + random.nextDouble() * 4, 79.7 + random.nextDouble() * 2.2};
+            index.put(i, "point " + i, points[i][0], points[i][1]);
+        }
+
+        long[] nanos = new long[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            double latitude = 5.9 + random.nextDouble() * 4;
+            double longitude = 79.7 + random.nextDouble() * 2.2;
+            double radius = 1 + random.nextDouble() * 9;
+
+            long start = System.nanoTime();
+            List<GeoGridIndex.Hit> hits = index.within(latitude, longitude, radius, Integer.MAX_VALUE);
+            nanos[q] = System.nanoTime() - start;
+
+            if (q % 100 == 0) {
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < POINTS; i++) {
+                    if (GeoGridIndex.distanceKm(latitude, longitude, points[i][0], points[i][1]) <= radius) expected.add(i);
+                }
+                assertEquals(expected, hits.stream().map(hit -> (int) hit.getPoint().getId()).sorted().collect(Collectors.toList()));
+            }
+            for (int i = 1; i < hits.size(); i++) {
+                assertTrue(hits.get(i - 1).getDistance() <= hits.get(i).getDistance());
+            }
+        }
+
+        Arrays.sort(nanos);
+        long p50 = nanos[QUERIES / 2] / 1000;
+        long p99 = nanos[QUERIES * 99 / 100] / 1000;
+        System.out.println("GeoGridIndexTests: " + POINTS + " points, " + QUERIES + " queries of 1-10km, p50 " + p50 + "us, p99 " + p99 + "us");
+        assertTrue(p99 < 50000, "p99 was " + p99 + "us");
+    }
+}
@@ -0,0 +1,72 @@
+package com.uwu.tas.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridClusterIndexTests {
+
+    @Test
+    void everyLevelAccountsForEveryPoint() {
+        Random random = new Random(4);
+        GridClusterIndex index = new GridClusterIndex();
+        for (int i = 0; i < 5000; i++) {
+            index.put(i, 5.9 + random.nextDouble() * 4, 79.7 + random.nextDouble() * 2.2);
+        }
+        for (int i = 0; i < 1000; i++) {
+            index.remove(i);
+        }
+
+        for (int zoom = 0; zoom <= GridClusterIndex.MAX_ZOOM; zoom += 3) {
+            int total = 0;
+            for (GridClusterIndex.Cluster cluster : index.clusters(5.9, 79.7, 9.9, 81.9, zoom)) {
+                total += cluster.getCount();
+                assertTrue(cluster.getRepresentativeId() >= 1000, "removed point " + cluster.getRepresentativeId() + " still represents a cluster");
+                assertTrue(cluster.getLatitude() >= 5.9 && cluster.getLatitude() <= 9.9);
+            }
+            assertEquals(4000, total, "zoom " + zoom);
+        }
+    }
+
+    @Test
+    void clustersSplitAsZoomIncreasesAndFollowMoves() {
+        GridClusterIndex index = new GridClusterIndex();
+        index.put(1, 7.95, 80.75);
+        index.put(2, 7.96, 80.76);
+        index.put(3, 6.03, 80.22);
+
+        List<GridClusterIndex.Cluster> world = index.clusters(-85, -180, 85, 180, 0);
+        assertEquals(1, world.size());
+        assertEquals(3, world.get(0).getCount());
+        assertEquals((7.95 + 7.96 + 6.03) / 3, world.get(0).getLatitude(), 1e-9);
+
+        assertEquals(2, index.clusters(5.9, 79.7, 9.9, 81.9, 8).size());
+        assertEquals(3, index.clusters(5.9, 79.7, 9.9, 81.9, 16).size());
+
+        index.put(3, 7.955, 80.755);
+        assertEquals(1, index.clusters(5.9, 79.7, 9.9, 81.9, 8).size());
+
+        index.remove(1);
+        Set<Long> representatives = new HashSet<>();
+        index.clusters(5.9, 79.7, 9.9, 81.9, 8).forEach(cluster -> representatives.add(cluster.getRepresentativeId()));
+        assertTrue(representatives.contains(2L) || representatives.contains(3L));
+        assertEquals(1, representatives.size());
+    }
+
+    @Test
+    void boundingBoxMayCrossAntimeridian() {
+        GridClusterIndex index = new GridClusterIndex();
+        index.put(1, -17.7, 178.4);
+        index.put(2, -14.3, -170.7);
+        index.put(3, -17.7, 100);
+
+        assertEquals(2, index.clusters(-20, 170, -10, -165, 6).stream().mapToInt(GridClusterIndex.Cluster::getCount).sum());
+        assertTrue(GridClusterIndex.cellsWithin(-20, 170, -10, -165, 6) < GridClusterIndex.cellsWithin(-20, -165, -10, 170, 6));
+    }
+}
@@ -0,0 +1,60 @@
+package com.uwu.tas.search;
+
+import com.uwu.tas.enums.RoomFacet;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class RoomFacetIndexTests {
+
+    private static final long WIFI = 1;
+    private static final long POOL = 2;
+    private static final long SEA = 10;
+    private static final long HOTEL = 20;
+    private static final long VILLA = 21;
+
+    @Test
+    void filtersAndCountsFollowIncrementalUpdates() {
+        RoomFacetIndex index = new RoomFacetIndex();
+        index.putAccommodation(100, HOTEL, true, false, false);
+        index.putAccommodation(200, VILLA, false, false, true);
+        index.putRoom(1, 100L, SEA);
+        index.putRoom(2, 100L, null);
+        index.putRoom(3, 200L, SEA);
+        index.add(RoomFacet.FACILITY, WIFI, 1);
+        index.add(RoomFacet.FACILITY, WIFI, 3);
+        index.add(RoomFacet.FACILITY, POOL, 3);
+
+        Map<RoomFacet, Set<Long>> selected = new EnumMap<>(RoomFacet.class);
+        selected.put(RoomFacet.FACILITY, new HashSet<>(Arrays.asList(WIFI, POOL)));
+        selected.put(RoomFacet.VIEW, Collections.singleton(SEA));
+        assertEquals(new HashSet<>(Arrays.asList(1L, 3L)), index.filter(selected, null));
+
+        RoomFacetIndex.Counts counts = index.count(selected, null);
+        assertEquals(2, counts.getMatching());
+        // a facet's own selection does not narrow its counts
+        assertEquals(2, counts.getValues().get(RoomFacet.FACILITY).get(WIFI));
+        assertEquals(1, counts.getValues().get(RoomFacet.FACILITY).get(POOL));
+        assertEquals(1, counts.getValues().get(RoomFacet.ACCOMMODATION_TYPE).get(HOTEL));
+        assertEquals(1, counts.getValues().get(RoomFacet.PARKING).get(1L));
+
+        index.putAccommodation(100, VILLA, false, false, false);
+        index.remove(RoomFacet.FACILITY, WIFI, 1);
+        index.putRoom(2, 200L, SEA);
+        index.removeRoom(3);
+
+        assertEquals(Collections.emptySet(), index.filter(selected, null));
+        counts = index.count(Collections.singletonMap(RoomFacet.ACCOMMODATION_TYPE, Collections.singleton(VILLA)), null);
+        assertEquals(2, counts.getMatching());
+        assertFalse(counts.getValues().get(RoomFacet.ACCOMMODATION_TYPE).containsKey(HOTEL));
+        assertEquals(2, counts.getValues().get(RoomFacet.VIEW).get(SEA));
+        assertEquals(1, counts.getValues().get(RoomFacet.PETS).get(1L));
+
+        index.putRoom(4, 100L, null);
+        assertEquals(3, index.size());
+        assertEquals(1, index.count(null, Collections.singleton(4L)).getMatching());
+    }
+}
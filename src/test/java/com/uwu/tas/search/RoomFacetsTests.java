@@ -0,0 +1,71 @@
+package com.uwu.tas.search;
+
+import com.uwu.tas.entity.Accommodation;
+import com.uwu.tas.entity.Facility;
+import com.uwu.tas.entity.Room;
+import com.uwu.tas.entity.RoomFacilityDetail;
+import com.uwu.tas.enums.RoomFacet;
+import com.uwu.tas.repository.AccommodationRepository;
+import com.uwu.tas.repository.FacilityRepository;
+import com.uwu.tas.repository.RoomFacilityDetailRepository;
+import com.uwu.tas.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(RoomFacets.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomFacetsTests {
+
+    @Autowired
+    private RoomFacets roomFacets;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    @Autowired
+    private RoomFacilityDetailRepository roomFacilityDetailRepository;
+
+    @Test
+    void committedWritesReachTheIndex() {
+        Accommodation accommodation = new Accommodation();
+        accommodation.setName("Beach house");
+        accommodation.setParking(true);
+        accommodationRepository.save(accommodation);
+        Room room = new Room();
+        room.setName("Double");
+        room.setAccommodation(accommodation);
+        roomRepository.save(room);
+        Facility facility = new Facility();
+        facility.setName("Wifi");
+        facilityRepository.save(facility);
+        RoomFacilityDetail detail = new RoomFacilityDetail();
+        detail.setRoom(room);
+        detail.setFacility(facility);
+        roomFacilityDetailRepository.save(detail);
+
+        Map<RoomFacet, Map<Long, Integer>> counts = roomFacets.get().count(null, null).getValues();
+        assertEquals(1, counts.get(RoomFacet.FACILITY).get(facility.getId()));
+        assertEquals(1, counts.get(RoomFacet.PARKING).get(1L));
+
+        roomFacilityDetailRepository.delete(detail);
+        counts = roomFacets.get().count(null, Collections.singleton(room.getId())).getValues();
+        assertNull(counts.get(RoomFacet.FACILITY).get(facility.getId()));
+    }
+}
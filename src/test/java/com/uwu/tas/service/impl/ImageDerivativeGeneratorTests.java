@@ -0,0 +1,29 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.service.ImageStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ImageDerivativeGeneratorTests {
+
+    @Test
+    void rejectedImageIsTriedAgain() {
+        AtomicInteger submitted = new AtomicInteger();
+        TaskExecutor fullExecutor = task -> {
+            submitted.incrementAndGet();
+            throw new TaskRejectedException("Queue is full");
+        };
+        ImageDerivativeGenerator generator = new ImageDerivativeGenerator(mock(ImageStore.class), fullExecutor);
+
+        generator.generate("key");
+        generator.generate("key");
+
+        assertEquals(2, submitted.get());
+    }
+}
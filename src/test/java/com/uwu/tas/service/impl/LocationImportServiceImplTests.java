@@ -0,0 +1,159 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.cache.LocationDetailCache;
+import com.uwu.tas.cache.ReferenceDataCache;
+import com.uwu.tas.config.AsyncConfig;
+import com.uwu.tas.dto.location.LocationImportReportDto;
+import com.uwu.tas.entity.Activity;
+import com.uwu.tas.entity.Province;
+import com.uwu.tas.enums.VisibilityStatus;
+import com.uwu.tas.repository.*;
+import com.uwu.tas.search.LocationSearchIndex;
+import com.uwu.tas.search.NearbyIndex;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static com.uwu.tas.constant.TASConstants.Import.CHUNK_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({LocationImportServiceImpl.class, ReferenceDataCache.class, LocationDetailCache.class, LocationSearchIndex.class,
+        NearbyIndex.class, FileServiceImpl.class, DatabaseImageStore.class, ImageDerivativeGenerator.class, AsyncConfig.class,
+        JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LocationImportServiceImplTests {
+
+    @Autowired
+    private LocationImportServiceImpl locationImportService;
+
+    @Autowired
+    private LocationSearchIndex locationSearchIndex;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private ProvinceRepository provinceRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private LocationAttractionRepository locationAttractionRepository;
+
+    @Autowired
+    private ActivityLocationDetailRepository activityLocationDetailRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        locationAttractionRepository.deleteAll();
+        activityLocationDetailRepository.deleteAll();
+        locationRepository.deleteAll();
+        activityRepository.deleteAll();
+        provinceRepository.deleteAll();
+
+        Province province = new Province();
+        province.setName("Uva");
+        provinceRepository.save(province);
+        Activity activity = new Activity();
+        activity.setActivityName("Hiking");
+        activity.setVisibilityStatus(VisibilityStatus.VISIBLE);
+        activityRepository.save(activity);
+        referenceDataCache.evict(ReferenceDataCache.ReferenceData.PROVINCES);
+        referenceDataCache.evict(ReferenceDataCache.ReferenceData.ACTIVITIES);
+    }
+
+    @Test
+    void badRowsAreReportedWithoutStoppingTheImport() {
+        String input = String.join("\n",
+                "{\"type\":\"location\",\"name\":\"Ella\",\"province\":\"uva\",\"latitude\":6.87,\"longitude\":81.05,\"activities\":[\"Hiking\"]}",
+                "{\"type\":\"attraction\",\"name\":\"Nine Arch Bridge\",\"location\":\"Ella\"}",
+                "{\"type\":\"location\",\"name\":\"Nowhere\",\"province\":\"Atlantis\"}",
+                "{\"type\":\"location\",",
+                "{\"type\":\"location\",\"name\":\"" + new String(new char[300]).replace('\0', 'x') + "\",\"province\":\"Uva\"}",
+                "",
+                "{\"type\":\"attraction\",\"name\":\"Little Adam's Peak\",\"location\":\"ella\"}");
+
+        LocationImportReportDto report = locationImportService.importLocations(stream(input), false);
+
+        assertEquals("COMPLETED", report.getStatus());
+        assertEquals(6, report.getRowsRead());
+        assertEquals(1, report.getLocationsCreated());
+        assertEquals(2, report.getAttractionsCreated());
+        assertEquals(Arrays.asList(3L, 4L, 5L), report.getErrors().stream()
+                .map(LocationImportReportDto.RowError::getLine).collect(Collectors.toList()));
+        assertEquals(1, locationRepository.count());
+        assertEquals(2, locationAttractionRepository.count());
+        assertEquals(1, activityLocationDetailRepository.count());
+        assertEquals(1, locationSearchIndex.searchLocations("ella", 10, true).size());
+    }
+
+    @Test
+    void csvRowsReferToEarlierRowsAndExistingData() {
+        String input = String.join("\n",
+                "type,name,location,province,latitude,longitude,description,activities",
+                "location,Haputale,,Uva,6.76,80.96,\"Tea country, with views\",Hiking",
+                "attraction,Lipton's Seat,Haputale,,,,,",
+                "attraction,Lipton's Seat,Haputale,,,,,");
+
+        LocationImportReportDto report = locationImportService.importLocations(stream(input), true);
+
+        assertEquals(3, report.getRowsRead());
+        assertEquals(1, report.getLocationsCreated());
+        assertEquals(1, report.getAttractionsCreated());
+        assertEquals(4L, report.getErrors().get(0).getLine());
+        assertEquals("Tea country, with views", locationRepository.findAll().get(0).getDescription());
+        assertEquals(report.getId(), locationImportService.getImports().get(0).getId());
+    }
+
+    /**
+     * Imports the way a request does with open-in-view: one entity manager bound for the whole
+     * call, joined by every chunk's transaction. Nothing may stay managed after the chunks.
+     */
+    @Test
+    void chunksLeaveRequestEntityManagerEmpty() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < CHUNK_SIZE + 10; i++) {
+            input.append("{\"type\":\"location\",\"name\":\"Place ").append(i)
+                    .append("\",\"province\":\"Uva\",\"activities\":[\"Hiking\"]}\n");
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            LocationImportReportDto report = locationImportService.importLocations(stream(input.toString()), false);
+
+            assertEquals(CHUNK_SIZE + 10, report.getLocationsCreated());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+        assertEquals(CHUNK_SIZE + 10, locationRepository.count());
+    }
+
+    private static ByteArrayInputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
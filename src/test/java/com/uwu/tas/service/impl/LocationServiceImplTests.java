@@ -0,0 +1,298 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.cache.LocationDetailCache;
+import com.uwu.tas.config.AsyncConfig;
+import com.uwu.tas.dto.activity.ActivityDto;
+import com.uwu.tas.dto.CursorPageDto;
+import com.uwu.tas.dto.location.LocationAttractionDto;
+import com.uwu.tas.dto.location.LocationDto;
+import com.uwu.tas.entity.*;
+import com.uwu.tas.enums.VisibilityStatus;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.search.LocationSearchIndex;
+import com.uwu.tas.search.NearbyIndex;
+import com.uwu.tas.util.Base64Handler;
+import com.uwu.tas.util.CursorCodec;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.uwu.tas.service.impl.LocationServiceImplTests$RecordingStatementInspector"
+})
+@Import({LocationServiceImpl.class, LocationDetailCache.class, FileServiceImpl.class, DatabaseImageStore.class, ImageDerivativeGenerator.class, AsyncConfig.class, Base64Handler.class, LocationSearchIndex.class, NearbyIndex.class})
+class LocationServiceImplTests {
+
+    @Autowired
+    private LocationServiceImpl locationService;
+
+    @Autowired
+    private LocationSearchIndex locationSearchIndex;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getLocationByIdIssuesConstantNumberOfQueries() {
+        long small = createLocation("Small", 5, 2, 2);
+        long large = createLocation("Large", 60, 20, 5);
+        entityManager.flush();
+        entityManager.clear();
+
+        long smallQueries = countQueries(small);
+        long largeQueries = countQueries(large);
+
+        assertEquals(smallQueries, largeQueries);
+        assertTrue(largeQueries <= 7, "getLocationById issued " + largeQueries + " queries");
+
+        LocationDto locationDto = locationService.getLocationById(large);
+        assertEquals(30, locationDto.getNumberOfActivities());
+        assertEquals(20, locationDto.getNumberOfAttractions());
+        assertEquals(30, locationDto.getLocationActivities().stream().filter(ActivityDto::isChecked).count());
+        assertEquals(5, locationDto.getLocationAttractions().get(0).getLocationAttractionPictures().size());
+    }
+
+    @Test
+    void getAllLocationsIssuesSingleQuery() {
+        createLocation("First", 3, 2, 1);
+        createLocation("Second", 4, 3, 1);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<LocationDto> locations = locationService.getAllLocations(null, null, null).getItems();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, locations.size());
+        assertEquals(3, locations.stream().mapToLong(LocationDto::getNumberOfAttractions).max().getAsLong());
+    }
+
+    @Test
+    void pictureUrlsNeverSelectImageColumn() {
+        long locationId = createLocation("Pictured", 2, 3, 4);
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        LocationDto locationDto = locationService.getLocationById(locationId);
+        locationService.getAllLocationAttractions("Pictured attraction%", null, null, null);
+        locationService.getLocationAttractionById(locationDto.getLocationAttractions().get(0).getId());
+
+        List<String> pictureStatements = RecordingStatementInspector.STATEMENTS.stream()
+                .map(String::toLowerCase)
+                .filter(sql -> sql.contains("location_picture") || sql.contains("location_attraction_picture"))
+                .collect(Collectors.toList());
+        assertFalse(pictureStatements.isEmpty());
+        for (String sql : pictureStatements) {
+            assertFalse(sql.matches("(?s).*\\.image\\b.*"), sql);
+        }
+        assertEquals(1, locationDto.getLocationPictures().size());
+        assertEquals(4, locationDto.getLocationAttractions().get(0).getLocationAttractionPictures().size());
+    }
+
+    @Test
+    void keysetPagesCoverEveryRowOnce() {
+        for (int i = 0; i < 5; i++) {
+            createLocation("Paged " + i, 1, 3, 0);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Set<Long> locationIds = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDto<LocationDto> page = locationService.getAllLocations(null, cursor, 2);
+            page.getItems().forEach(location -> assertTrue(locationIds.add(location.getId())));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(5, locationIds.size());
+        assertEquals(3, pages);
+
+        List<String> attractionNames = new ArrayList<>();
+        cursor = null;
+        do {
+            CursorPageDto<LocationAttractionDto> page = locationService.getAllLocationAttractions("%", cursor, 4, null);
+            page.getItems().forEach(attraction -> attractionNames.add(attraction.getName()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(15, attractionNames.size());
+        assertEquals(attractionNames.stream().sorted().collect(Collectors.toList()), attractionNames);
+    }
+
+    @Test
+    void searchRanksByFieldAndToleratesTypos() {
+        long byName = createLocation("Sigiriya", 1, 1, 0);
+        long byProvince = createLocation("Dambulla", 1, 0, 0);
+        Province central = entityManager.find(Location.class, byProvince).getProvince();
+        central.setName("Sigiriya surroundings");
+        entityManager.flush();
+        entityManager.clear();
+        locationSearchIndex.rebuild();
+
+        List<Long> prefix = locationService.getAllLocations("sigir", null, null).getItems().stream()
+                .map(LocationDto::getId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(byName, byProvince), prefix);
+
+        List<Long> typo = locationService.getAllLocations("sigirya", null, null).getItems().stream()
+                .map(LocationDto::getId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(byName, byProvince), typo);
+
+        assertEquals(1, locationService.getAllLocationAttractions("sigiriya atraction", null, null, null).getItems().size());
+        assertTrue(locationService.getAllLocations("galle", null, null).getItems().isEmpty());
+    }
+
+    @Test
+    void searchRejectsOutOfRangeCursor() {
+        createLocation("Sigiriya", 1, 1, 0);
+        locationSearchIndex.rebuild();
+
+        CustomServiceException negative = assertThrows(CustomServiceException.class,
+                () -> locationService.getAllLocations("sigiriya", CursorCodec.encode("-5"), null));
+        assertEquals(400, negative.getCode());
+        CustomServiceException overflowing = assertThrows(CustomServiceException.class,
+                () -> locationService.getAllLocationAttractions("sigiriya", CursorCodec.encode(String.valueOf(Integer.MAX_VALUE - 1)), null, null));
+        assertEquals(400, overflowing.getCode());
+    }
+
+    /**
+     * Round trips for creating a location with 50 pictures and 10 activities: picture and
+     * activity detail rows go out as one JDBC batch each instead of one INSERT per row.
+     */
+    @Test
+    void createLocationBatchesPictureAndDetailInserts() {
+        Province province = new Province();
+        province.setName("Batched province");
+        entityManager.persist(province);
+        List<ActivityDto> activities = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Activity activity = new Activity();
+            activity.setActivityName("Batched activity " + i);
+            activity.setVisibilityStatus(VisibilityStatus.VISIBLE);
+            entityManager.persist(activity);
+            activities.add(new ActivityDto(activity.getId(), null, null, null, true));
+        }
+        List<String> pictures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            pictures.add("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(("picture " + i).getBytes()));
+        }
+        LocationDto locationDto = new LocationDto();
+        locationDto.setName("Batched");
+        locationDto.setProvinceId(province.getId());
+        locationDto.setLocationPictures(pictures);
+        locationDto.setLocationActivities(activities);
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        locationService.createLocation(locationDto);
+        entityManager.flush();
+
+        long pictureInserts = RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().startsWith("insert into location_picture")).count();
+        long detailInserts = RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().startsWith("insert into activity_location_detail")).count();
+        assertEquals(1, pictureInserts);
+        assertEquals(1, detailInserts);
+        assertEquals(50, entityManager.getEntityManager()
+                .createQuery("select count(p) from LocationPicture p where p.location.name = 'Batched'", Long.class).getSingleResult());
+    }
+
+    private long countQueries(long locationId) {
+        entityManager.clear();
+        statistics.clear();
+        locationService.getLocationById(locationId);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long createLocation(String name, int activities, int attractions, int picturesPerAttraction) {
+        Province province = new Province();
+        province.setName(name + " province");
+        entityManager.persist(province);
+
+        Location location = new Location();
+        location.setName(name);
+        location.setVisibilityStatus(VisibilityStatus.VISIBLE);
+        location.setProvince(province);
+        entityManager.persist(location);
+
+        for (int i = 0; i < activities; i++) {
+            Activity activity = new Activity();
+            activity.setActivityName(name + " activity " + i);
+            activity.setVisibilityStatus(VisibilityStatus.VISIBLE);
+            entityManager.persist(activity);
+            if (i % 2 == 0) {
+                ActivityLocationDetail detail = new ActivityLocationDetail();
+                detail.setActivity(activity);
+                detail.setLocation(location);
+                entityManager.persist(detail);
+            }
+        }
+
+        for (int i = 0; i < attractions; i++) {
+            LocationAttraction attraction = new LocationAttraction();
+            attraction.setName(name + " attraction " + i);
+            attraction.setVisibilityStatus(VisibilityStatus.VISIBLE);
+            attraction.setLocation(location);
+            entityManager.persist(attraction);
+            for (int j = 0; j < picturesPerAttraction; j++) {
+                LocationAttractionPicture picture = new LocationAttractionPicture();
+                picture.setImageKey("key");
+                picture.setLocationAttraction(attraction);
+                entityManager.persist(picture);
+            }
+        }
+
+        LocationPicture locationPicture = new LocationPicture();
+        locationPicture.setImageKey("key");
+        locationPicture.setLocation(location);
+        entityManager.persist(locationPicture);
+
+        return location.getId();
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.dto.reservation.RoomReservationDto;
+import com.uwu.tas.entity.PublicUser;
+import com.uwu.tas.entity.Room;
+import com.uwu.tas.entity.RoomInventory;
+import com.uwu.tas.entity.RoomPackage;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.inventory.RoomAvailabilityCalendar;
+import com.uwu.tas.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:reservations;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RoomReservationServiceImpl.class, RoomAvailabilityCalendar.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomReservationServiceImplTests {
+
+    private static final int CAPACITY = 5;
+    private static final int WINDOW_NIGHTS = 6;
+
+    @Autowired
+    private RoomReservationServiceImpl roomReservationService;
+
+    @Autowired
+    private RoomAvailabilityCalendar roomAvailabilityCalendar;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomPackageRepository roomPackageRepository;
+
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+
+    @Autowired
+    private PublicUserRepository publicUserRepository;
+
+    private Room room;
+    private RoomPackage roomPackage;
+    private PublicUser publicUser;
+    private LocalDate firstNight;
+
+    @BeforeEach
+    void setUp() {
+        room = new Room();
+        room.setName("Deluxe");
+        room.setAvailableCount(CAPACITY);
+        roomRepository.save(room);
+        roomPackage = new RoomPackage();
+        roomPackage.setPrice(100);
+        roomPackage.setDiscount(10);
+        roomPackage.setRoom(room);
+        roomPackageRepository.save(roomPackage);
+        publicUser = new PublicUser();
+        publicUser.setEmail("guest" + room.getId() + "@example.com");
+        publicUserRepository.save(publicUser);
+        firstNight = LocalDate.now().plusDays(1);
+    }
+
+    /**
+     * Many guests booking overlapping stays at once: every night ends up with exactly the
+     * rooms of the bookings that succeeded, and never more than the room's count.
+     */
+    @Test
+    void concurrentBookingsNeverOverbook() throws Exception {
+        int guests = 48;
+        ExecutorService executor = Executors.newFixedThreadPool(24);
+        CountDownLatch start = new CountDownLatch(1);
+        Random random = new Random(7);
+        List<Future<RoomReservationDto>> results = new ArrayList<>();
+        for (int i = 0; i < guests; i++) {
+            int offset = random.nextInt(WINDOW_NIGHTS - 1);
+            int nights = 1 + random.nextInt(WINDOW_NIGHTS - offset);
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return roomReservationService.reserveRoom(reservation(firstNight.plusDays(offset), nights));
+                } catch (CustomServiceException e) {
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        int[] expected = new int[WINDOW_NIGHTS];
+        int succeeded = 0;
+        for (Future<RoomReservationDto> result : results) {
+            RoomReservationDto reservation = result.get(60, TimeUnit.SECONDS);
+            if (reservation == null) continue;
+            succeeded++;
+            for (LocalDate night = reservation.getCheckInDate(); night.isBefore(reservation.getCheckOutDate()); night = night.plusDays(1)) {
+                expected[(int) (night.toEpochDay() - firstNight.toEpochDay())]++;
+            }
+        }
+        executor.shutdown();
+
+        Map<LocalDate, RoomInventory> inventory = new HashMap<>();
+        roomInventoryRepository.findAll().stream().filter(i -> i.getRoom().getId() == room.getId())
+                .forEach(i -> inventory.put(i.getNight(), i));
+        assertEquals(WINDOW_NIGHTS, inventory.size());
+        for (int n = 0; n < WINDOW_NIGHTS; n++) {
+            RoomInventory night = inventory.get(firstNight.plusDays(n));
+            assertEquals(expected[n], night.getBooked(), "night " + n);
+            assertTrue(night.getBooked() <= CAPACITY, "night " + n + " overbooked");
+            assertEquals(night.getBooked() < CAPACITY,
+                    roomAvailabilityCalendar.isAvailable(room.getId(), night.getNight(), night.getNight().plusDays(1)));
+        }
+        assertTrue(succeeded > 0 && succeeded < guests);
+    }
+
+    @Test
+    void cancellationReleasesEveryNight() {
+        RoomReservationDto[] reservations = new RoomReservationDto[CAPACITY];
+        for (int i = 0; i < CAPACITY; i++) {
+            reservations[i] = roomReservationService.reserveRoom(reservation(firstNight, 3));
+        }
+        assertEquals(270, reservations[0].getTotalPrice());
+        assertFalse(roomReservationService.isRoomAvailable(room.getId(), firstNight.plusDays(2), firstNight.plusDays(4)));
+        assertThrows(CustomServiceException.class, () -> roomReservationService.reserveRoom(reservation(firstNight.plusDays(1), 1)));
+
+        roomReservationService.cancelRoomReservation(reservations[0].getId());
+
+        assertTrue(roomReservationService.isRoomAvailable(room.getId(), firstNight, firstNight.plusDays(3)));
+        assertNotNull(roomReservationService.reserveRoom(reservation(firstNight.plusDays(1), 2)));
+        assertThrows(CustomServiceException.class, () -> roomReservationService.cancelRoomReservation(reservations[0].getId()));
+    }
+
+    private RoomReservationDto reservation(LocalDate checkIn, int nights) {
+        RoomReservationDto dto = new RoomReservationDto();
+        dto.setPublicUserId(publicUser.getId());
+        dto.setRoomId(room.getId());
+        dto.setRoomPackageId(roomPackage.getId());
+        dto.setCheckInDate(checkIn);
+        dto.setCheckOutDate(checkIn.plusDays(nights));
+        dto.setRoomCount(1);
+        return dto;
+    }
+}
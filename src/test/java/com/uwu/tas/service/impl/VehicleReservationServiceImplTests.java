@@ -0,0 +1,178 @@
+package com.uwu.tas.service.impl;
+
+import com.uwu.tas.dto.reservation.AvailableVehicleDto;
+import com.uwu.tas.dto.reservation.VehicleReservationDto;
+import com.uwu.tas.dto.reservation.VehicleSearchDto;
+import com.uwu.tas.entity.Location;
+import com.uwu.tas.entity.PublicUser;
+import com.uwu.tas.entity.ReservationVehicleDetail;
+import com.uwu.tas.entity.Vehicle;
+import com.uwu.tas.entity.VehicleType;
+import com.uwu.tas.enums.ReservationStatus;
+import com.uwu.tas.exception.CustomServiceException;
+import com.uwu.tas.inventory.VehicleAvailabilityIndex;
+import com.uwu.tas.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:rentals;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({VehicleReservationServiceImpl.class, VehicleAvailabilityIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VehicleReservationServiceImplTests {
+
+    @Autowired
+    private VehicleReservationServiceImpl vehicleReservationService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleTypeRepository vehicleTypeRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private PublicUserRepository publicUserRepository;
+
+    @Autowired
+    private ReservationVehicleDetailRepository reservationVehicleDetailRepository;
+
+    private Location location;
+    private VehicleType van;
+    private PublicUser publicUser;
+    private LocalDate firstDay;
+
+    @BeforeEach
+    void setUp() {
+        location = new Location();
+        location.setName("Ella " + UUID.randomUUID());
+        locationRepository.save(location);
+        van = new VehicleType();
+        van.setName("Van");
+        van.setRentalPricePerKm(120);
+        vehicleTypeRepository.save(van);
+        publicUser = new PublicUser();
+        publicUser.setEmail("renter" + location.getId() + "@example.com");
+        publicUserRepository.save(publicUser);
+        firstDay = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void allocatesSmallestFreeVehicleThatFits() {
+        long small = vehicle("Small van", 7, true);
+        long large = vehicle("Large van", 10, true);
+        vehicle("Car", 4, true);
+        vehicle("Off road van", 12, false);
+
+        List<Long> available = vehicleReservationService.getAvailableVehicles(search(firstDay.plusDays(2), 6)).stream()
+                .map(AvailableVehicleDto::getVehicleId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(small, large), available);
+
+        VehicleReservationDto first = vehicleReservationService.reserveVehicle(reservation(firstDay.plusDays(2), 6));
+        assertEquals(small, first.getVehicleId());
+        assertEquals(120, first.getPricePerKm());
+        assertFalse(vehicleReservationService.isVehicleAvailable(small, firstDay.plusDays(7), firstDay.plusDays(9)));
+        assertTrue(vehicleReservationService.isVehicleAvailable(small, firstDay.plusDays(8), firstDay.plusDays(9)));
+        assertTrue(vehicleReservationService.isVehicleAvailable(small, firstDay, firstDay.plusDays(2)));
+
+        assertEquals(large, vehicleReservationService.reserveVehicle(reservation(firstDay.plusDays(5), 2)).getVehicleId());
+        assertEquals(small, vehicleReservationService.reserveVehicle(reservation(firstDay.plusDays(8), 2)).getVehicleId());
+        assertThrows(CustomServiceException.class, () -> vehicleReservationService.reserveVehicle(reservation(firstDay.plusDays(6), 1)));
+
+        vehicleReservationService.cancelVehicleReservation(first.getId());
+
+        assertTrue(vehicleReservationService.isVehicleAvailable(small, firstDay.plusDays(2), firstDay.plusDays(8)));
+        assertEquals(small, vehicleReservationService.reserveVehicle(reservation(firstDay.plusDays(6), 1)).getVehicleId());
+    }
+
+    /**
+     * Many renters asking for the same dates at once: each vehicle is allocated to exactly
+     * one of them and the rest are turned away.
+     */
+    @Test
+    void concurrentAllocationsNeverDoubleBook() throws Exception {
+        int vehicles = 4;
+        for (int i = 0; i < vehicles; i++) {
+            vehicle("Van " + i, 7 + i, true);
+        }
+        int renters = 24;
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        CountDownLatch start = new CountDownLatch(1);
+        Random random = new Random(3);
+        List<Future<VehicleReservationDto>> results = new ArrayList<>();
+        for (int i = 0; i < renters; i++) {
+            int offset = random.nextInt(2);
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return vehicleReservationService.reserveVehicle(reservation(firstDay.plusDays(offset), 3));
+                } catch (CustomServiceException e) {
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        Set<Long> allocated = new HashSet<>();
+        for (Future<VehicleReservationDto> result : results) {
+            VehicleReservationDto reservation = result.get(60, TimeUnit.SECONDS);
+            if (reservation != null) assertTrue(allocated.add(reservation.getVehicleId()), "vehicle allocated twice");
+        }
+        executor.shutdown();
+
+        assertEquals(vehicles, allocated.size());
+        Map<Long, List<ReservationVehicleDetail>> bookings = reservationVehicleDetailRepository.findAll().stream()
+                .filter(detail -> detail.getStatus() == ReservationStatus.CONFIRMED && allocated.contains(detail.getVehicle().getId()))
+                .collect(Collectors.groupingBy(detail -> detail.getVehicle().getId()));
+        bookings.values().forEach(details -> assertEquals(1, details.size()));
+        assertTrue(vehicleReservationService.getAvailableVehicles(search(firstDay.plusDays(1), 2)).isEmpty());
+    }
+
+    private long vehicle(String name, int seats, boolean availability) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setName(name);
+        vehicle.setNoOfSeats(seats);
+        vehicle.setAvailability(availability);
+        vehicle.setVehicleType(van);
+        vehicle.setLocation(location);
+        vehicleRepository.save(vehicle);
+        return vehicle.getId();
+    }
+
+    private VehicleSearchDto search(LocalDate startDate, int days) {
+        VehicleSearchDto search = new VehicleSearchDto();
+        search.setLocationId(location.getId());
+        search.setMinSeats(7);
+        search.setStartDate(startDate);
+        search.setEndDate(startDate.plusDays(days));
+        return search;
+    }
+
+    private VehicleReservationDto reservation(LocalDate startDate, int days) {
+        VehicleReservationDto dto = new VehicleReservationDto();
+        dto.setPublicUserId(publicUser.getId());
+        dto.setVehicle(search(startDate, days));
+        return dto;
+    }
+}
@@ -0,0 +1,68 @@
+package com.uwu.tas.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowRateLimiterTests {
+
+    @Test
+    void windowSlides() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, 1000);
+        assertTrue(limiter.tryAcquire("a", 0));
+        assertTrue(limiter.tryAcquire("a", 400));
+        assertFalse(limiter.tryAcquire("a", 999));
+        assertTrue(limiter.tryAcquire("b", 999));
+        assertTrue(limiter.tryAcquire("a", 1000));
+        assertFalse(limiter.tryAcquire("a", 1399));
+        assertTrue(limiter.tryAcquire("a", 1400));
+
+        limiter.purge(2399);
+        assertEquals(1, limiter.size());
+        limiter.purge(2400);
+        assertEquals(0, limiter.size());
+    }
+
+    /**
+     * Many threads hammering a few hot keys (a bot retrying /register) must never get more
+     * than the limit per key through.
+     */
+    @Test
+    void neverExceedsLimitUnderContention() throws InterruptedException {
+        int threads = 16;
+        int keys = 40;
+        int limit = 5;
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(limit, TimeUnit.HOURS.toMillis(1));
+        AtomicIntegerArray granted = new AtomicIntegerArray(keys);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 20000; i++) {
+                    int key = i % keys;
+                    if (limiter.tryAcquire("vendor" + key + "@example.com")) granted.incrementAndGet(key);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        for (int key = 0; key < keys; key++) {
+            assertEquals(limit, granted.get(key), "key " + key);
+        }
+    }
+}
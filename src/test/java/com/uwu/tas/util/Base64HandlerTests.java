@@ -0,0 +1,86 @@
+package com.uwu.tas.util;
+
+import com.uwu.tas.exception.CustomServiceException;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base64HandlerTests {
+
+    private static final String PREFIX = "data:image/jpeg;base64,";
+
+    private final Base64Handler base64Handler = new Base64Handler();
+
+    @Test
+    void decodesDataUri() {
+        byte[] image = new byte[1001];
+        new Random(1).nextBytes(image);
+        byte[] decoded = base64Handler.getByteArrayFromBase64(PREFIX + Base64.getEncoder().encodeToString(image));
+        assertArrayEquals(image, decoded);
+    }
+
+    @Test
+    void rejectsOversizedPayloadBeforeDecoding() {
+        char[] encoded = new char[20400000];
+        Arrays.fill(encoded, 'A');
+        String payload = PREFIX + new String(encoded);
+
+        assertThrows(CustomServiceException.class, () -> base64Handler.getInputStreamFromBase64(payload));
+        long allocated = allocatedBytes();
+        assertThrows(CustomServiceException.class, () -> base64Handler.getInputStreamFromBase64(payload));
+        assertTrue(allocatedBytes() - allocated < 100000);
+    }
+
+    /**
+     * Peak allocation per upload: decoding a 10MB image into a store must not allocate
+     * anything proportional to the payload (the old split/getBytes/decode path allocated
+     * roughly 3.3x the image size).
+     */
+    @Test
+    void streamingDecodeAllocatesConstantMemory() throws IOException {
+        byte[] image = new byte[10000000];
+        new Random(2).nextBytes(image);
+        String payload = PREFIX + Base64.getEncoder().encodeToString(image);
+        image = null;
+
+        long allocated = allocatedBytes();
+        long size;
+        try (InputStream in = base64Handler.getInputStreamFromBase64(payload)) {
+            size = StreamUtils.copy(in, new DiscardingOutputStream());
+        }
+        long streaming = allocatedBytes() - allocated;
+
+        allocated = allocatedBytes();
+        base64Handler.getByteArrayFromBase64(payload);
+        long buffered = allocatedBytes() - allocated;
+
+        System.out.println("Base64HandlerTests: decoded " + size + " bytes, streaming allocated " + streaming
+                + " bytes, buffering into byte[] allocated " + buffered + " bytes");
+        assertEquals(10000000, size);
+        assertTrue(streaming < 1000000, "streaming decode allocated " + streaming + " bytes");
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static final class DiscardingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}